@@ -0,0 +1,53 @@
+package ru.practicum.workshop.eventservice.benchmark;
+
+import ru.practicum.workshop.eventservice.dto.EventRequest;
+import ru.practicum.workshop.eventservice.model.Event;
+import ru.practicum.workshop.eventservice.model.EventRegistrationStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkData {
+    private static final LocalDateTime BASE_DATE_TIME = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+    private BenchmarkData() {
+    }
+
+    static List<Event> events(int count) {
+        List<Event> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            events.add(event(i));
+        }
+        return events;
+    }
+
+    static Event event(int i) {
+        return Event.builder()
+                .id((long) i + 1)
+                .name("Event" + i)
+                .description("Description of event " + i + ": talks, workshops and networking for the community.")
+                .createdDateTime(BASE_DATE_TIME.minusDays(30).plusMinutes(i))
+                .startDateTime(BASE_DATE_TIME.plusDays(i % 30))
+                .endDateTime(BASE_DATE_TIME.plusDays(i % 30).plusHours(3))
+                .location("Location" + i)
+                .ownerId((long) (i % 100) + 1)
+                .registrationStatus(EventRegistrationStatus.values()[i % EventRegistrationStatus.values().length])
+                .isLimited(i % 2 == 0)
+                .participantLimit(i % 2 == 0 ? 100 : null)
+                .build();
+    }
+
+    static EventRequest limitedRequest() {
+        return new EventRequest(
+                "Updated event",
+                "Updated description",
+                BASE_DATE_TIME.plusDays(1),
+                BASE_DATE_TIME.plusDays(1).plusHours(2),
+                "Updated location",
+                EventRegistrationStatus.OPEN,
+                true,
+                150
+        );
+    }
+}
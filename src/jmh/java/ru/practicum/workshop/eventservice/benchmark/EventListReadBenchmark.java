@@ -0,0 +1,100 @@
+package ru.practicum.workshop.eventservice.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.workshop.eventservice.EventServiceApplication;
+import ru.practicum.workshop.eventservice.dto.EventResponse;
+import ru.practicum.workshop.eventservice.mapper.EventMapper;
+import ru.practicum.workshop.eventservice.params.EventSearchParam;
+import ru.practicum.workshop.eventservice.repository.EventRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static ru.practicum.workshop.eventservice.EventDataSeeder.seedEvents;
+
+/**
+ * One page of {@code GET /events} as the service builds it: managed {@code Event} entities mapped to DTOs versus
+ * {@code EventListItem} rows, with and without {@code description}. The page is not the first one, so the query
+ * cache is not involved. Compare {@code gc.alloc.rate.norm} (bytes per page) as well as time per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventListReadBenchmark {
+    private static final int ROWS = 5000;
+
+    @Param({"50"})
+    private int pageSize;
+
+    @Param({"100", "7000"})
+    private int descriptionLength;
+
+    private ConfigurableApplicationContext context;
+    private EventRepository eventRepository;
+    private EventMapper eventMapper;
+    private TransactionTemplate readOnlyTransaction;
+
+    private EventSearchParam page;
+    private EventSearchParam summaryPage;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(EventServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run();
+        eventRepository = context.getBean(EventRepository.class);
+        eventMapper = context.getBean(EventMapper.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        seedEvents(context.getBean(JdbcTemplate.class), ROWS, 100, descriptionLength);
+
+        PageRequest pageable = PageRequest.of(1, pageSize, Sort.by(Sort.Direction.DESC, "createdDateTime"));
+        page = EventSearchParam.builder().pageable(pageable).build();
+        summaryPage = EventSearchParam.builder().pageable(pageable).summary(true).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<EventResponse> entities() {
+        return readOnlyTransaction.execute(status -> eventMapper.toEventsDtoPublic(eventRepository.getEvents(page)));
+    }
+
+    @Benchmark
+    public List<EventResponse> projection() {
+        return readOnlyTransaction.execute(status ->
+                eventMapper.toListItemsDtoPublic(eventRepository.getEventList(page)));
+    }
+
+    @Benchmark
+    public List<EventResponse> projectionSummary() {
+        return readOnlyTransaction.execute(status ->
+                eventMapper.toListItemsDtoPublic(eventRepository.getEventList(summaryPage)));
+    }
+}
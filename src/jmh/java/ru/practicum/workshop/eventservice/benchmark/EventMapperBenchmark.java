@@ -0,0 +1,55 @@
+package ru.practicum.workshop.eventservice.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.workshop.eventservice.dto.EventRequest;
+import ru.practicum.workshop.eventservice.dto.EventResponse;
+import ru.practicum.workshop.eventservice.mapper.EventMapper;
+import ru.practicum.workshop.eventservice.mapper.EventMapperImpl;
+import ru.practicum.workshop.eventservice.model.Event;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventMapperBenchmark {
+    @Param({"20", "100"})
+    private int size;
+
+    private final EventMapper eventMapper = new EventMapperImpl();
+    private List<Event> events;
+    private Event limitedEvent;
+    private EventRequest limitedRequest;
+
+    @Setup
+    public void setUp() {
+        events = BenchmarkData.events(size);
+        limitedEvent = BenchmarkData.event(0);
+        limitedRequest = BenchmarkData.limitedRequest();
+    }
+
+    @Benchmark
+    public List<EventResponse> toEventsDtoPublic() {
+        return eventMapper.toEventsDtoPublic(events);
+    }
+
+    @Benchmark
+    public Event updateEvent() {
+        // Same request every time, so the target ends up in the same state after each invocation.
+        return eventMapper.updateEvent(limitedRequest, limitedEvent);
+    }
+}
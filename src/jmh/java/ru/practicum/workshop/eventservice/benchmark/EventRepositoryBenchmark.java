@@ -0,0 +1,118 @@
+package ru.practicum.workshop.eventservice.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.workshop.eventservice.EventServiceApplication;
+import ru.practicum.workshop.eventservice.model.Event;
+import ru.practicum.workshop.eventservice.model.EventRegistrationStatus;
+import ru.practicum.workshop.eventservice.params.EventCursor;
+import ru.practicum.workshop.eventservice.params.EventSearchParam;
+import ru.practicum.workshop.eventservice.repository.EventRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static ru.practicum.workshop.eventservice.EventDataSeeder.seedEvents;
+
+/**
+ * {@code CustomizedEventRepositoryImpl.getEvents} against the embedded H2 database of the {@code test} profile,
+ * seeded with {@code rows} events. The first page goes through the query cache once it is warm; the other
+ * benchmarks always hit the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventRepositoryBenchmark {
+    private static final int PAGE_SIZE = 20;
+    private static final Sort FEED_SORT = Sort.by(Sort.Direction.DESC, "createdDateTime");
+
+    @Param({"100000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private EventRepository eventRepository;
+    private TransactionTemplate readOnlyTransaction;
+
+    private EventSearchParam firstPage;
+    private EventSearchParam secondPageByStatus;
+    private EventSearchParam deepOffsetPage;
+    private EventSearchParam deepKeysetPage;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(EventServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run();
+        eventRepository = context.getBean(EventRepository.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        seedEvents(context.getBean(JdbcTemplate.class), rows, 1000);
+
+        int deepPage = rows / PAGE_SIZE - 1;
+        firstPage = param(PageRequest.of(0, PAGE_SIZE, FEED_SORT), null, null);
+        secondPageByStatus = param(PageRequest.of(1, PAGE_SIZE, FEED_SORT), EventRegistrationStatus.OPEN, null);
+        deepOffsetPage = param(PageRequest.of(deepPage, PAGE_SIZE, FEED_SORT), null, null);
+        List<Event> previousPage = getEvents(param(PageRequest.of(deepPage - 1, PAGE_SIZE, FEED_SORT), null, null));
+        deepKeysetPage = param(PageRequest.of(0, PAGE_SIZE, FEED_SORT), null,
+                EventCursor.of(previousPage.get(previousPage.size() - 1)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private static EventSearchParam param(PageRequest pageable, EventRegistrationStatus status, EventCursor cursor) {
+        return EventSearchParam.builder()
+                .pageable(pageable)
+                .status(status)
+                .cursor(cursor)
+                .build();
+    }
+
+    private List<Event> getEvents(EventSearchParam param) {
+        return readOnlyTransaction.execute(status -> eventRepository.getEvents(param));
+    }
+
+    @Benchmark
+    public List<Event> firstPage() {
+        return getEvents(firstPage);
+    }
+
+    @Benchmark
+    public List<Event> secondPageByStatus() {
+        return getEvents(secondPageByStatus);
+    }
+
+    @Benchmark
+    public List<Event> deepOffsetPage() {
+        return getEvents(deepOffsetPage);
+    }
+
+    @Benchmark
+    public List<Event> deepKeysetPage() {
+        return getEvents(deepKeysetPage);
+    }
+}
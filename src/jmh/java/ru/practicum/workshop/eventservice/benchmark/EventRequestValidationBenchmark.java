@@ -0,0 +1,68 @@
+package ru.practicum.workshop.eventservice.benchmark;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.workshop.eventservice.dto.EventRequest;
+import ru.practicum.workshop.eventservice.validation.DateRangeValidator;
+import ru.practicum.workshop.eventservice.validation.ParticipantLimitValidator;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The custom class-level validators on their own and the full Bean Validation pass over {@link EventRequest} that
+ * every create/update request goes through.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventRequestValidationBenchmark {
+    private final DateRangeValidator dateRangeValidator = new DateRangeValidator();
+    private final ParticipantLimitValidator participantLimitValidator = new ParticipantLimitValidator();
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private EventRequest request;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        request = BenchmarkData.limitedRequest();
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public boolean dateRangeValidator() {
+        return dateRangeValidator.isValid(request, null);
+    }
+
+    @Benchmark
+    public boolean participantLimitValidator() {
+        return participantLimitValidator.isValid(request, null);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<EventRequest>> validateEventRequest() {
+        return validator.validate(request);
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.workshop.eventservice.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.workshop.eventservice.EventServiceApplication;
+import ru.practicum.workshop.eventservice.model.Event;
+import ru.practicum.workshop.eventservice.model.EventRegistrationStatus;
+import ru.practicum.workshop.eventservice.repository.EventRegistrationRepository;
+import ru.practicum.workshop.eventservice.repository.EventRepository;
+import ru.practicum.workshop.eventservice.service.impl.EventCapacityCounters;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Places taken at one limited event by 16 threads at once against the embedded H2 database of the {@code test}
+ * profile: {@code ROW_LOCK} is a transaction with the conditional UPDATE of the event row per place, as registration
+ * does by default; {@code BLOCK_RESERVATION} takes places from {@link EventCapacityCounters}, which goes to the
+ * database once per {@code blockSize} places. Saving the registration itself costs the same either way and is left
+ * out. Every iteration starts with a new event, so the limit never runs out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class RegistrationCapacityBenchmark {
+    private static final int PARTICIPANT_LIMIT = 1_000_000_000;
+
+    public enum Accounting {
+        ROW_LOCK, BLOCK_RESERVATION
+    }
+
+    @Param({"ROW_LOCK", "BLOCK_RESERVATION"})
+    private Accounting accounting;
+
+    @Param({"50"})
+    private int blockSize;
+
+    private ConfigurableApplicationContext context;
+    private EventRepository eventRepository;
+    private EventRegistrationRepository registrationRepository;
+    private EventCapacityCounters capacityCounters;
+    private TransactionTemplate transaction;
+    private volatile long eventId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(EventServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("event.registration.counters.enabled=true",
+                        "event.registration.counters.block-size=" + blockSize)
+                .run();
+        eventRepository = context.getBean(EventRepository.class);
+        registrationRepository = context.getBean(EventRegistrationRepository.class);
+        capacityCounters = context.getBean(EventCapacityCounters.class);
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @Setup(Level.Iteration)
+    public void createEvent() {
+        Event event = BenchmarkData.event(0);
+        event.setId(null);
+        event.setRegistrationStatus(EventRegistrationStatus.OPEN);
+        event.setLimited(true);
+        event.setParticipantLimit(PARTICIPANT_LIMIT);
+        eventId = eventRepository.save(event).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean takePlace() {
+        long id = eventId;
+        if (accounting == Accounting.ROW_LOCK) {
+            return Boolean.TRUE.equals(transaction.execute(status -> registrationRepository.takePlace(id)));
+        }
+        boolean taken = capacityCounters.takePlace(id);
+        capacityCounters.confirmPlace(id);
+        return taken;
+    }
+}
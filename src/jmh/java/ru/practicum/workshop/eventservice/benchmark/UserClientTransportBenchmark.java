@@ -0,0 +1,87 @@
+package ru.practicum.workshop.eventservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import ru.practicum.workshop.eventservice.EventServiceApplication;
+import ru.practicum.workshop.eventservice.client.UserClient;
+import ru.practicum.workshop.eventservice.client.dto.UserDto;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+
+/**
+ * {@link UserClient#getUserById} calls per second by 16 threads against a WireMock stub of User Service on the same
+ * machine: {@code pooled=true} goes through the keep-alive pool of {@code UserFeignConfiguration},
+ * {@code pooled=false} through Feign's default {@code HttpURLConnection} client. Calls go to the Feign client
+ * directly, past the user cache, batching and resilience layers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class UserClientTransportBenchmark {
+    @Param({"true", "false"})
+    private boolean pooled;
+
+    private WireMockServer userServer;
+    private ConfigurableApplicationContext context;
+    private UserClient userClient;
+
+    @Setup
+    public void setUp() throws Exception {
+        userServer = new WireMockServer(WireMockConfiguration.wireMockConfig()
+                .dynamicPort()
+                .containerThreads(32));
+        userServer.start();
+        userServer.stubFor(get(urlPathMatching("/users/.+"))
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.OK.value())
+                        .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(new ObjectMapper().writeValueAsString(
+                                UserDto.builder().id(1L).name("name").email("name@example.com").build()))));
+
+        context = new SpringApplicationBuilder(EventServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("userservice.url=localhost:" + userServer.port(),
+                        "userservice.http.pooled=" + pooled)
+                .run();
+        userClient = context.getBean(UserClient.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        userServer.stop();
+    }
+
+    @Benchmark
+    public UserDto getUserById() {
+        return userClient.getUserById(1L);
+    }
+}
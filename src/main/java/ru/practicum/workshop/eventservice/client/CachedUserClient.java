@@ -0,0 +1,149 @@
+package ru.practicum.workshop.eventservice.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.workshop.eventservice.client.dto.UserDto;
+import ru.practicum.workshop.eventservice.config.UserCacheProperties;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Caches {@link UserClient} lookups; misses go through {@link UserLookupBatcher}. Found users and 404 answers are
+ * kept in separate caches so that a user who registers right after a failed lookup is only rejected for the (short)
+ * negative TTL.
+ */
+@Component
+@Slf4j
+public class CachedUserClient {
+    private final UserLookupBatcher userLookupBatcher;
+    private final Cache<Long, UserDto> users;
+    private final Cache<Long, Boolean> missingUsers;
+    private final ExecutorService lookupExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public CachedUserClient(UserLookupBatcher userLookupBatcher,
+                            UserCacheProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.userLookupBatcher = userLookupBatcher;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        this.missingUsers = Caffeine.newBuilder()
+                .maximumSize(properties.getNegativeMaximumSize())
+                .expireAfterWrite(properties.getNegativeExpireAfterWrite())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "users");
+        CaffeineCacheMetrics.monitor(meterRegistry, missingUsers, "missingUsers");
+    }
+
+    /**
+     * Same contract as {@link UserClient#getUserById}: throws {@link EntityNotFoundException} for unknown users.
+     */
+    public UserDto getUserById(long userId) {
+        UserDto user = users.getIfPresent(userId);
+        if (user != null) {
+            return user;
+        }
+        if (missingUsers.getIfPresent(userId) != null) {
+            throw new EntityNotFoundException(String.format("User with id=%d not found.", userId));
+        }
+
+        // Loaded outside of Cache.get(key, loader): the loader would run the remote call under a map bin lock.
+        try {
+            user = userLookupBatcher.getUserById(userId);
+        } catch (EntityNotFoundException e) {
+            missingUsers.put(userId, Boolean.TRUE);
+            throw e;
+        }
+        users.put(userId, user);
+        return user;
+    }
+
+    /**
+     * Bulk variant of {@link #getUserById}: returns the users that exist among {@code userIds}, fetching all cache
+     * misses in one pass.
+     */
+    public Map<Long, UserDto> getUsersByIds(Collection<Long> userIds) {
+        Map<Long, UserDto> found = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long userId : userIds) {
+            UserDto user = users.getIfPresent(userId);
+            if (user != null) {
+                found.put(userId, user);
+            } else if (missingUsers.getIfPresent(userId) == null) {
+                misses.add(userId);
+            }
+        }
+        if (misses.isEmpty()) {
+            return found;
+        }
+
+        Map<Long, UserDto> loaded = userLookupBatcher.getUsersByIds(misses);
+        for (Long userId : misses) {
+            UserDto user = loaded.get(userId);
+            if (user != null) {
+                users.put(userId, user);
+                found.put(userId, user);
+            } else {
+                missingUsers.put(userId, Boolean.TRUE);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * {@link #getUserById} that does not wait for User Service: a cached answer comes back completed, a miss is looked
+     * up on a virtual thread. Fails with {@link EntityNotFoundException} for unknown users.
+     */
+    public CompletableFuture<UserDto> getUserByIdAsync(long userId) {
+        UserDto user = users.getIfPresent(userId);
+        if (user != null) {
+            return CompletableFuture.completedFuture(user);
+        }
+        if (missingUsers.getIfPresent(userId) != null) {
+            return CompletableFuture.failedFuture(
+                    new EntityNotFoundException(String.format("User with id=%d not found.", userId)));
+        }
+        return CompletableFuture.supplyAsync(() -> getUserById(userId), lookupExecutor);
+    }
+
+    @PreDestroy
+    void stop() {
+        lookupExecutor.shutdownNow();
+    }
+
+    public void evict(long userId) {
+        log.info("Evicting user(id={}) from cache", userId);
+        users.invalidate(userId);
+        missingUsers.invalidate(userId);
+    }
+
+    public void evictAll() {
+        log.info("Evicting all users from cache");
+        users.invalidateAll();
+        missingUsers.invalidateAll();
+    }
+
+    public long size() {
+        return users.estimatedSize();
+    }
+
+    public long missingSize() {
+        return missingUsers.estimatedSize();
+    }
+}
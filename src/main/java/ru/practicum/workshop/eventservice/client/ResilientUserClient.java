@@ -0,0 +1,76 @@
+package ru.practicum.workshop.eventservice.client;
+
+import feign.RetryableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.workshop.eventservice.client.dto.UserDto;
+import ru.practicum.workshop.eventservice.error.UserServiceException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * {@link UserClient} behind the {@code userService} retry, circuit breaker and bulkhead, configured under
+ * {@code resilience4j.*}. Every attempt holds a bulkhead permit and is recorded by the circuit breaker; failed
+ * attempts are retried with jittered backoff (both lookups are idempotent GETs). When the breaker is open or the
+ * bulkhead is full a lookup fails right away instead of queueing behind a slow User Service. Failures of User
+ * Service surface as {@link UserServiceException}; answers about users keep the {@link UserClient} contract.
+ */
+@Component
+@Slf4j
+public class ResilientUserClient {
+    public static final String USER_SERVICE = "userService";
+
+    private final UserClient userClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Retry retry;
+
+    public ResilientUserClient(UserClient userClient, CircuitBreakerRegistry circuitBreakerRegistry,
+                               BulkheadRegistry bulkheadRegistry, RetryRegistry retryRegistry) {
+        this.userClient = userClient;
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(USER_SERVICE);
+        this.bulkhead = bulkheadRegistry.bulkhead(USER_SERVICE);
+        this.retry = retryRegistry.retry(USER_SERVICE);
+    }
+
+    /**
+     * Same contract as {@link UserClient#getUserById}: throws {@link EntityNotFoundException} for unknown users.
+     */
+    public UserDto getUserById(long userId) {
+        return call(() -> userClient.getUserById(userId));
+    }
+
+    /**
+     * Same contract as {@link UserClient#getUsersByIds}.
+     */
+    public List<UserDto> getUsersByIds(Collection<Long> ids) {
+        return call(() -> userClient.getUsersByIds(ids));
+    }
+
+    private <T> T call(Supplier<T> request) {
+        Supplier<T> decorated = Retry.decorateSupplier(retry,
+                CircuitBreaker.decorateSupplier(circuitBreaker,
+                        Bulkhead.decorateSupplier(bulkhead, request)));
+        try {
+            return decorated.get();
+        } catch (CallNotPermittedException e) {
+            throw new UserServiceException("User Service is failing, lookups are suspended", e);
+        } catch (BulkheadFullException e) {
+            log.warn("Too many concurrent requests to User Service");
+            throw new UserServiceException("Too many concurrent requests to User Service", e);
+        } catch (RetryableException e) {
+            throw new UserServiceException("User Service is not responding: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.workshop.eventservice.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code /actuator/usercache}: cache sizes on GET, explicit invalidation on DELETE (all users or
+ * {@code /actuator/usercache/{userId}}). Hit/miss/eviction counters are published as {@code cache.*} metrics.
+ */
+@Component
+@Endpoint(id = "usercache")
+@RequiredArgsConstructor
+public class UserCacheEndpoint {
+    private final CachedUserClient cachedUserClient;
+
+    @ReadOperation
+    public Map<String, Long> sizes() {
+        return Map.of("users", cachedUserClient.size(), "missingUsers", cachedUserClient.missingSize());
+    }
+
+    @DeleteOperation
+    public void evictAll() {
+        cachedUserClient.evictAll();
+    }
+
+    @DeleteOperation
+    public void evict(@Selector long userId) {
+        cachedUserClient.evict(userId);
+    }
+}
@@ -3,11 +3,21 @@ package ru.practicum.workshop.eventservice.client;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import ru.practicum.workshop.eventservice.config.UserFeignConfiguration;
 import ru.practicum.workshop.eventservice.client.dto.UserDto;
 
+import java.util.Collection;
+import java.util.List;
+
 @FeignClient(value = "userClient", url = "${userservice.url}", path = "/users", configuration = UserFeignConfiguration.class)
 public interface UserClient {
     @GetMapping("/{userId}")
     UserDto getUserById(@PathVariable(value = "userId") long userId);
+
+    /**
+     * Returns the users that exist among {@code ids}; unknown ids are simply absent from the result.
+     */
+    @GetMapping
+    List<UserDto> getUsersByIds(@RequestParam(value = "ids") Collection<Long> ids);
 }
@@ -0,0 +1,239 @@
+package ru.practicum.workshop.eventservice.client;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.workshop.eventservice.client.dto.UserDto;
+import ru.practicum.workshop.eventservice.config.UserBatchProperties;
+import ru.practicum.workshop.eventservice.error.UserServiceException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Coalesces concurrent {@link UserClient#getUserById} calls into one {@link UserClient#getUsersByIds} request.
+ * The first caller opens a batch and waits up to {@code userservice.batch.window} (or until the batch is full) for
+ * others to join, then performs the request on behalf of all of them. A batch of one uses the single-user endpoint.
+ * If user-service answers 404 on the batch endpoint, every caller in the batch looks up its own user from its own
+ * thread, and batching stays off for {@code userservice.batch.reprobe-interval}, after which the endpoint is tried
+ * again.
+ */
+@Component
+@Slf4j
+public class UserLookupBatcher {
+    private final ResilientUserClient userClient;
+    private final long windowNanos;
+    private final int maxSize;
+    private final long reprobeNanos;
+    private final long awaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition batchClosed = lock.newCondition();
+    /**
+     * Futures of a batch are completed with {@code null} when the batch endpoint is missing: the caller is to look
+     * up its user itself.
+     */
+    private Map<Long, CompletableFuture<UserDto>> openBatch;
+    private volatile boolean batchSupported = true;
+    private volatile long reprobeAt;
+
+    public UserLookupBatcher(ResilientUserClient userClient, UserBatchProperties properties) {
+        this.userClient = userClient;
+        this.windowNanos = properties.getWindow().toNanos();
+        this.maxSize = properties.getMaxSize();
+        this.reprobeNanos = properties.getReprobeInterval().toNanos();
+        this.awaitNanos = properties.getAwaitTimeout().toNanos();
+    }
+
+    /**
+     * Same contract as {@link UserClient#getUserById}: throws {@link EntityNotFoundException} for unknown users.
+     */
+    public UserDto getUserById(long userId) {
+        if (windowNanos <= 0 || maxSize <= 1 || !isBatchSupported()) {
+            return userClient.getUserById(userId);
+        }
+
+        Map<Long, CompletableFuture<UserDto>> batch;
+        CompletableFuture<UserDto> result;
+        boolean leader = false;
+        lock.lock();
+        try {
+            if (openBatch == null) {
+                openBatch = new HashMap<>();
+                leader = true;
+            }
+            batch = openBatch;
+            result = batch.computeIfAbsent(userId, id -> new CompletableFuture<>());
+            if (batch.size() >= maxSize) {
+                openBatch = null;
+                batchClosed.signalAll();
+            }
+            if (leader) {
+                awaitBatch(batch);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (leader) {
+            execute(batch);
+        }
+        UserDto user = await(result);
+        return user != null ? user : userClient.getUserById(userId);
+    }
+
+    /**
+     * Looks up all {@code userIds} right away, in requests of at most {@code userservice.batch.max-size} ids.
+     * Unknown users are absent from the result.
+     */
+    public Map<Long, UserDto> getUsersByIds(Collection<Long> userIds) {
+        Map<Long, UserDto> found = new HashMap<>();
+        List<Long> ids = new ArrayList<>(userIds);
+        int chunkSize = Math.max(maxSize, 1);
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            Map<Long, CompletableFuture<UserDto>> batch = new HashMap<>();
+            chunk.forEach(userId -> batch.put(userId, new CompletableFuture<>()));
+            execute(batch);
+            batch.forEach((userId, future) -> {
+                try {
+                    UserDto user = await(future);
+                    found.put(userId, user != null ? user : userClient.getUserById(userId));
+                } catch (EntityNotFoundException e) {
+                    log.debug("User(id={}) not found", userId);
+                }
+            });
+        }
+        return found;
+    }
+
+    private void awaitBatch(Map<Long, CompletableFuture<UserDto>> batch) {
+        long nanos = windowNanos;
+        try {
+            while (openBatch == batch && nanos > 0) {
+                nanos = batchClosed.awaitNanos(nanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (openBatch == batch) {
+            openBatch = null;
+        }
+    }
+
+    private boolean isBatchSupported() {
+        if (!batchSupported && System.nanoTime() - reprobeAt >= 0) {
+            // The next batch tries the endpoint again; a 404 switches it off for another interval.
+            batchSupported = true;
+        }
+        return batchSupported;
+    }
+
+    /**
+     * Completes every future of {@code batch}. Whatever goes wrong on the way, also past the request itself, fails
+     * the futures still pending rather than leaving their callers waiting.
+     */
+    private void execute(Map<Long, CompletableFuture<UserDto>> batch) {
+        try {
+            lookUpBatch(batch);
+        } catch (RuntimeException e) {
+            failPending(batch, new UserServiceException("User lookup batch failed", e));
+        } catch (Error e) {
+            failPending(batch, e);
+            throw e;
+        }
+    }
+
+    private void lookUpBatch(Map<Long, CompletableFuture<UserDto>> batch) {
+        if (batch.size() == 1) {
+            batch.forEach(this::lookupOne);
+            return;
+        }
+        if (!isBatchSupported()) {
+            lookUpSeparately(batch);
+            return;
+        }
+
+        List<UserDto> users;
+        try {
+            log.info("Getting {} users from User Service in one request", batch.size());
+            users = userClient.getUsersByIds(batch.keySet());
+        } catch (EntityNotFoundException e) {
+            log.warn("User Service has no batch lookup endpoint, falling back to one request per user for {}",
+                    Duration.ofNanos(reprobeNanos));
+            reprobeAt = System.nanoTime() + reprobeNanos;
+            batchSupported = false;
+            lookUpSeparately(batch);
+            return;
+        } catch (RuntimeException e) {
+            failPending(batch, e);
+            return;
+        }
+        if (users == null) {
+            throw new UserServiceException("User Service answered the batch lookup without a body", null);
+        }
+
+        Map<Long, UserDto> found = users.stream()
+                .filter(user -> user != null && user.getId() != null)
+                .collect(Collectors.toMap(UserDto::getId, Function.identity(), (first, second) -> first));
+        batch.forEach((userId, future) -> {
+            UserDto user = found.get(userId);
+            if (user != null) {
+                future.complete(user);
+            } else {
+                future.completeExceptionally(
+                        new EntityNotFoundException(String.format("User with id=%d not found.", userId)));
+            }
+        });
+    }
+
+    private static void failPending(Map<Long, CompletableFuture<UserDto>> batch, Throwable failure) {
+        batch.values().forEach(future -> future.completeExceptionally(failure));
+    }
+
+    /**
+     * Hands the lookups back to the callers, so that they run concurrently rather than one after another here.
+     */
+    private static void lookUpSeparately(Map<Long, CompletableFuture<UserDto>> batch) {
+        batch.values().forEach(future -> future.complete(null));
+    }
+
+    private void lookupOne(Long userId, CompletableFuture<UserDto> future) {
+        try {
+            future.complete(userClient.getUserById(userId));
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Waits for a lookup made by the batch leader for at most {@code userservice.batch.await-timeout}.
+     */
+    private UserDto await(CompletableFuture<UserDto> result) {
+        try {
+            return result.get(awaitNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new UserServiceException("User lookup failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new UserServiceException("User lookup batch did not complete in time", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UserServiceException("Interrupted while waiting for a user lookup", e);
+        }
+    }
+}
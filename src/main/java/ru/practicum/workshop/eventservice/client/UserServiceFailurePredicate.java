@@ -0,0 +1,19 @@
+package ru.practicum.workshop.eventservice.client;
+
+import feign.RetryableException;
+import ru.practicum.workshop.eventservice.error.UserServiceException;
+
+import java.util.function.Predicate;
+
+/**
+ * Failures of User Service itself, as opposed to answers about users such as 404: an I/O error or timeout, which
+ * Feign reports as {@link RetryableException}, or a 5xx/429 answer. Only these are retried and count against the
+ * {@code userService} circuit breaker; see {@code resilience4j.*} in {@code application.properties}.
+ */
+public class UserServiceFailurePredicate implements Predicate<Throwable> {
+    @Override
+    public boolean test(Throwable e) {
+        return e instanceof RetryableException
+                || (e instanceof UserServiceException userServiceException && userServiceException.isTransient());
+    }
+}
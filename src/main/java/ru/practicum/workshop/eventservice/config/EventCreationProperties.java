@@ -0,0 +1,23 @@
+package ru.practicum.workshop.eventservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "event.create")
+@Getter
+@Setter
+public class EventCreationProperties {
+    /**
+     * How long event creation waits for the requester lookup once the event is written; a lookup that takes longer
+     * fails the creation with 503.
+     */
+    private Duration userLookupTimeout = Duration.ofSeconds(2);
+    /**
+     * Creations that may wait for User Service with their transaction, and so a database connection, open. Further
+     * ones wait for the lookup before starting the transaction; keep it well below the connection pool size.
+     */
+    private int maxWaitingTransactions = 5;
+}
@@ -0,0 +1,64 @@
+package ru.practicum.workshop.eventservice.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.query.sqm.function.SqmFunctionRegistry;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the HQL/criteria functions behind the {@code GET /events} filters that plain comparisons cannot express
+ * efficiently.
+ * <p>
+ * {@value #MATCHES} and {@value #RANK} implement {@code q} and take {@code (name, location, description, query)}:
+ * <ul>
+ *     <li>PostgreSQL: full-text search with {@code websearch_to_tsquery}, ranked by {@code ts_rank}, over the
+ *     weighted document (name A, location B, description C) stored in the generated {@code events.search_vector}
+ *     column and its GIN index, see {@code db/vendor/postgresql/V13__store_event_search_document.sql}. The text
+ *     arguments are not used; the column is referenced unqualified, which holds as long as {@code events} is the only
+ *     table in the query that has it.</li>
+ *     <li>Other databases (H2 in tests): case-insensitive substring match of the whole query, ranked by the field it
+ *     was found in.</li>
+ * </ul>
+ * {@value #PERIOD_OVERLAPS} implements {@code from}/{@code to} and takes {@code (start, end, from, to)}: true when
+ * {@code [start, end)} overlaps {@code [from, to)}. On PostgreSQL it is the {@code &&} operator on {@code tsrange},
+ * matching the GiST index in {@code db/vendor/postgresql/V8__add_event_period_index.sql}.
+ * <p>
+ * Registered through {@code META-INF/services/org.hibernate.boot.model.FunctionContributor}.
+ */
+public class EventSearchFunctionContributor implements FunctionContributor {
+    public static final String MATCHES = "event_search_matches";
+    public static final String RANK = "event_search_rank";
+    public static final String PERIOD_OVERLAPS = "event_period_overlaps";
+
+    private static final String TEXT_SEARCH_CONFIG = "'russian'";
+    private static final String DOCUMENT = "search_vector";
+    private static final String QUERY = "websearch_to_tsquery(" + TEXT_SEARCH_CONFIG + ", ?4)";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        SqmFunctionRegistry functionRegistry = functionContributions.getFunctionRegistry();
+        BasicTypeRegistry basicTypeRegistry = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+
+        if (functionContributions.getDialect() instanceof PostgreSQLDialect) {
+            functionRegistry.registerPattern(MATCHES, "(" + DOCUMENT + " @@ " + QUERY + ")",
+                    basicTypeRegistry.resolve(StandardBasicTypes.BOOLEAN));
+            functionRegistry.registerPattern(RANK, "ts_rank(" + DOCUMENT + ", " + QUERY + ")",
+                    basicTypeRegistry.resolve(StandardBasicTypes.DOUBLE));
+            functionRegistry.registerPattern(PERIOD_OVERLAPS, "(tsrange(?1, ?2) && tsrange(?3, ?4))",
+                    basicTypeRegistry.resolve(StandardBasicTypes.BOOLEAN));
+        } else {
+            functionRegistry.registerPattern(MATCHES,
+                    "(locate(lower(cast(?4 as varchar)), lower(concat(?1, ' ', ?2, ' ', ?3))) > 0)",
+                    basicTypeRegistry.resolve(StandardBasicTypes.BOOLEAN));
+            functionRegistry.registerPattern(RANK,
+                    "(case when locate(lower(cast(?4 as varchar)), lower(?1)) > 0 then 1.0"
+                            + " when locate(lower(cast(?4 as varchar)), lower(?2)) > 0 then 0.4"
+                            + " when locate(lower(cast(?4 as varchar)), lower(?3)) > 0 then 0.2 else 0.0 end)",
+                    basicTypeRegistry.resolve(StandardBasicTypes.DOUBLE));
+            functionRegistry.registerPattern(PERIOD_OVERLAPS, "(?1 < ?4 and ?2 > ?3)",
+                    basicTypeRegistry.resolve(StandardBasicTypes.BOOLEAN));
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.workshop.eventservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "event.stream")
+@Getter
+@Setter
+public class EventStreamProperties {
+    /**
+     * Subscribers this instance accepts at once; further ones get 503. Every subscriber holds a connection, so this
+     * has to stay well below {@code server.tomcat.max-connections}, or subscribers lock out all other requests.
+     */
+    private int maxSubscribers = 5000;
+    /**
+     * Changes kept for a subscriber that has not received them yet; when it falls further behind, the oldest are
+     * dropped.
+     */
+    private int bufferSize = 32;
+    /**
+     * How often idle subscribers get a comment line, so that dead connections are noticed and proxies keep live ones.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+    /**
+     * How long a subscription lasts before the client has to reconnect.
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+}
@@ -0,0 +1,15 @@
+package ru.practicum.workshop.eventservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "event.update")
+@Getter
+@Setter
+public class EventUpdateProperties {
+    /**
+     * How many times an event update is attempted when concurrent updates keep winning the optimistic lock.
+     */
+    private int maxAttempts = 5;
+}
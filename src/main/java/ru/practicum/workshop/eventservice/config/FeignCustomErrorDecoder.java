@@ -4,6 +4,7 @@ import feign.Response;
 import feign.codec.ErrorDecoder;
 import jakarta.persistence.EntityNotFoundException;
 import ru.practicum.workshop.eventservice.error.BadRequest;
+import ru.practicum.workshop.eventservice.error.UserServiceException;
 
 public class FeignCustomErrorDecoder implements ErrorDecoder {
     @Override
@@ -11,7 +12,7 @@ public class FeignCustomErrorDecoder implements ErrorDecoder {
         return switch (response.status()) {
             case 400 -> new BadRequest("Data is incorrect");
             case 404 -> new EntityNotFoundException("Object not found");
-            default -> new Exception("Common Feign Exception");
+            default -> new UserServiceException(response.status());
         };
     }
 }
@@ -0,0 +1,35 @@
+package ru.practicum.workshop.eventservice.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.workshop.eventservice.outbox.FileOutboxSink;
+import ru.practicum.workshop.eventservice.outbox.InMemoryOutboxSink;
+import ru.practicum.workshop.eventservice.outbox.LoggingOutboxSink;
+import ru.practicum.workshop.eventservice.outbox.OutboxSink;
+
+/**
+ * The built-in {@link OutboxSink}s, selected by {@code event.outbox.sink}.
+ */
+@Configuration
+public class OutboxConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "event.outbox.sink", havingValue = "log", matchIfMissing = true)
+    public OutboxSink loggingOutboxSink() {
+        return new LoggingOutboxSink();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "event.outbox.sink", havingValue = "file")
+    public OutboxSink fileOutboxSink(OutboxProperties properties, ObjectMapper objectMapper) {
+        return new FileOutboxSink(properties.getFile(), objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "event.outbox.sink", havingValue = "in-memory")
+    public InMemoryOutboxSink inMemoryOutboxSink() {
+        return new InMemoryOutboxSink();
+    }
+}
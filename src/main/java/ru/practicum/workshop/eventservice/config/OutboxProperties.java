@@ -0,0 +1,32 @@
+package ru.practicum.workshop.eventservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "event.outbox")
+@Getter
+@Setter
+public class OutboxProperties {
+    /**
+     * Whether this instance runs the relay; change records are written either way.
+     */
+    private boolean relayEnabled = true;
+    /**
+     * Pause between polls of an empty outbox; a full batch is followed by the next one right away.
+     */
+    private Duration pollInterval = Duration.ofMillis(500);
+    private int batchSize = 100;
+    /**
+     * Where change records go: {@code log}, {@code file} or {@code in-memory}; with any other value an
+     * {@link ru.practicum.workshop.eventservice.outbox.OutboxSink} bean has to be provided.
+     */
+    private String sink = "log";
+    /**
+     * File the {@code file} sink appends NDJSON lines to.
+     */
+    private Path file = Path.of("event-outbox.ndjson");
+}
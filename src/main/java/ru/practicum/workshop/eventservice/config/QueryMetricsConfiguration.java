@@ -0,0 +1,50 @@
+package ru.practicum.workshop.eventservice.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.practicum.workshop.eventservice.monitoring.EndpointQueryMetricsInterceptor;
+import ru.practicum.workshop.eventservice.monitoring.QueryCountingListener;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the {@link DataSource} in a datasource-proxy that counts statements per request and registers the
+ * interceptor that attributes them to endpoints; see {@link EndpointQueryMetricsInterceptor}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "event.query-metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryMetricsConfiguration implements WebMvcConfigurer {
+    private final EndpointQueryMetricsInterceptor interceptor;
+
+    public QueryMetricsConfiguration(QueryMetricsProperties properties, MeterRegistry meterRegistry) {
+        this.interceptor = new EndpointQueryMetricsInterceptor(properties, meterRegistry);
+    }
+
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new QueryCountingListener())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor);
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.workshop.eventservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "event.query-metrics")
+@Getter
+@Setter
+public class QueryMetricsProperties {
+    /**
+     * Whether JDBC statements are counted and timed per endpoint.
+     */
+    private boolean enabled = true;
+    /**
+     * Statements a request may run before it is logged as over budget.
+     */
+    private int budget = 10;
+    /**
+     * Budgets of single endpoints, keyed by {@code Controller.method}, e.g.
+     * {@code event.query-metrics.budgets[EventController.getEvent]=2}.
+     */
+    private Map<String, Integer> budgets = new HashMap<>();
+
+    public int getBudget(String endpoint) {
+        return budgets.getOrDefault(endpoint, budget);
+    }
+}
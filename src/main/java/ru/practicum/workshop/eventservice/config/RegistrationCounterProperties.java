@@ -0,0 +1,26 @@
+package ru.practicum.workshop.eventservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "event.registration.counters")
+@Getter
+@Setter
+public class RegistrationCounterProperties {
+    /**
+     * Whether places at limited events are handed out from in-memory counters, reserved in blocks from the database,
+     * instead of one conditional UPDATE of the event row per registration. Meant for a single instance.
+     */
+    private boolean enabled = false;
+    /**
+     * How many places one reservation takes from the database.
+     */
+    private int blockSize = 50;
+    /**
+     * How often taken places are written back to {@code events.registered_count}.
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+}
@@ -0,0 +1,26 @@
+package ru.practicum.workshop.eventservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "userservice.batch")
+@Getter
+@Setter
+public class UserBatchProperties {
+    /**
+     * How long the first lookup waits for others to join its batch; zero disables coalescing of single lookups.
+     */
+    private Duration window = Duration.ofMillis(5);
+    private int maxSize = 100;
+    /**
+     * How long lookups go one by one after user-service answered 404 on the batch endpoint, before it is tried again.
+     */
+    private Duration reprobeInterval = Duration.ofMinutes(5);
+    /**
+     * How long a lookup waits for the batch it joined; covers the window and the batch request with its retries.
+     */
+    private Duration awaitTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,17 @@
+package ru.practicum.workshop.eventservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "userservice.cache")
+@Getter
+@Setter
+public class UserCacheProperties {
+    private long maximumSize = 10_000;
+    private Duration expireAfterWrite = Duration.ofMinutes(5);
+    private long negativeMaximumSize = 10_000;
+    private Duration negativeExpireAfterWrite = Duration.ofSeconds(30);
+}
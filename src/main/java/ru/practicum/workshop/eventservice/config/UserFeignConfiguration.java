@@ -1,12 +1,60 @@
 package ru.practicum.workshop.eventservice.config;
 
+import feign.Client;
 import feign.codec.ErrorDecoder;
+import feign.hc5.ApacheHttp5Client;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 
+import java.time.Duration;
+
 public class UserFeignConfiguration {
 
     @Bean
     public ErrorDecoder errorDecoder() {
         return new FeignCustomErrorDecoder();
     }
+
+    /**
+     * Pooled keep-alive connections to User Service, so that calls do not pay for a new connection each. The pool is
+     * published as {@code httpcomponents.httpclient.pool.*} metrics tagged {@code httpclient=userService}.
+     * Timeouts still come from {@code spring.cloud.openfeign.client.config.userClient.*}.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "userservice.http", name = "pooled", havingValue = "true", matchIfMissing = true)
+    public CloseableHttpClient userServiceHttpClient(UserHttpClientProperties properties, MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxConnections())
+                .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setTimeToLive(toTimeValue(properties.getTimeToLive()))
+                        .setValidateAfterInactivity(toTimeValue(properties.getValidateAfterInactivity()))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "userService").bindTo(meterRegistry);
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .evictExpiredConnections()
+                .evictIdleConnections(toTimeValue(properties.getIdleTimeout()))
+                .disableCookieManagement()
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "userservice.http", name = "pooled", havingValue = "true", matchIfMissing = true)
+    public Client feignClient(CloseableHttpClient userServiceHttpClient) {
+        return new ApacheHttp5Client(userServiceHttpClient);
+    }
+
+    private static TimeValue toTimeValue(Duration duration) {
+        return TimeValue.ofMilliseconds(duration.toMillis());
+    }
 }
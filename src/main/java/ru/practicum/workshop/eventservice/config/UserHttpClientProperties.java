@@ -0,0 +1,34 @@
+package ru.practicum.workshop.eventservice.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "userservice.http")
+@Getter
+@Setter
+public class UserHttpClientProperties {
+    /**
+     * Keep-alive connections from a pool; {@code false} falls back to Feign's {@code HttpURLConnection} client.
+     */
+    private boolean pooled = true;
+    private int maxConnections = 200;
+    /**
+     * User Service is a single route, so this is how many calls to it can be in flight at once.
+     */
+    private int maxConnectionsPerRoute = 50;
+    /**
+     * Connections idle for longer are closed in the background.
+     */
+    private Duration idleTimeout = Duration.ofSeconds(30);
+    /**
+     * Connections are not reused past this age, so that User Service instances behind a balancer get new ones.
+     */
+    private Duration timeToLive = Duration.ofMinutes(5);
+    /**
+     * A connection idle for longer is checked before reuse, in case the server has closed it.
+     */
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+}
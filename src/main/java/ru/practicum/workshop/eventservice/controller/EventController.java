@@ -2,17 +2,32 @@ package ru.practicum.workshop.eventservice.controller;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import ru.practicum.workshop.eventservice.dto.*;
+import ru.practicum.workshop.eventservice.error.BadRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.workshop.eventservice.model.EventRegistrationStatus;
+import ru.practicum.workshop.eventservice.model.EventVersion;
+import ru.practicum.workshop.eventservice.params.EventCursor;
+import ru.practicum.workshop.eventservice.params.EventCursorCodec;
 import ru.practicum.workshop.eventservice.params.EventSearchParam;
+import ru.practicum.workshop.eventservice.params.EventSort;
+import ru.practicum.workshop.eventservice.service.EventRegistrationService;
 import ru.practicum.workshop.eventservice.service.EventService;
+import ru.practicum.workshop.eventservice.service.EventStreamService;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -20,9 +35,21 @@ import java.util.List;
 @Validated
 @Slf4j
 public class EventController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int MAX_QUERY_LENGTH = 200;
+
     @Autowired
     private EventService eventService;
 
+    @Autowired
+    private EventRegistrationService eventRegistrationService;
+
+    @Autowired
+    private EventStreamService eventStreamService;
+
+    @Autowired
+    private EventCursorCodec cursorCodec;
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public EventResponse createEvent(@Valid @RequestBody EventRequest request,
@@ -31,35 +58,163 @@ public class EventController {
         return eventService.createEvent(request, requesterId);
     }
 
+    /**
+     * Updates the event. With {@code If-Match} the update is applied only if the event still has the given ETag,
+     * otherwise the answer is 412.
+     */
     @PatchMapping("/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public EventResponse updateEvent(@PathVariable Long id,
-                                     @Valid @RequestBody EventRequest request,
-                                     @RequestHeader("X-User-Id") Long requesterId) {
-        return eventService.updateEvent(id, request, requesterId);
+    public ResponseEntity<EventResponse> updateEvent(@PathVariable Long id,
+                                                     @Valid @RequestBody EventRequest request,
+                                                     @RequestHeader("X-User-Id") Long requesterId,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                         String ifMatch) {
+        EventUpdateResult result = eventService.updateEvent(id, request, requesterId,
+                EventETags.parseEventVersion(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(EventETags.ofEvent(result.getVersion(), requesterId))
+                .varyBy("X-User-Id")
+                .body(result.getEvent());
     }
 
+    /**
+     * Returns the event with an ETag. A request whose {@code If-None-Match} still matches is answered with 304 from
+     * the event version alone, without loading and serializing the event.
+     */
     @GetMapping("/{id}")
+    public ResponseEntity<EventResponse> getEvent(@PathVariable Long id,
+                                                  @RequestHeader(value = "X-User-Id", required = false) Long requesterId,
+                                                  WebRequest webRequest) {
+        EventVersion version = eventService.getEventVersion(id);
+        String eTag = EventETags.ofEvent(version, requesterId);
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .varyBy("X-User-Id")
+                    .build();
+        }
+        // Should the event change in between, the body is newer than the ETag: the client just gets it again.
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .varyBy("X-User-Id")
+                .body(eventService.getEvent(id, requesterId));
+    }
+
+    /**
+     * Resolves up to {@value EventLookupRequest#MAX_IDS} events in one request, each as {@link #getEvent} would return
+     * it to the requester, and lists the ids that have no event.
+     */
+    @PostMapping("/lookup")
     @ResponseStatus(HttpStatus.OK)
-    public EventResponse getEvent(@PathVariable Long id,
-                                  @RequestHeader(value = "X-User-Id", required = false) Long requesterId) {
-        return eventService.getEvent(id, requesterId);
+    public EventLookupResponse lookupEvents(@Valid @RequestBody EventLookupRequest request,
+                                            @RequestHeader(value = "X-User-Id", required = false) Long requesterId) {
+        log.info("Request: look up {} events by user(id={})", request.getIds().size(), requesterId);
+        return eventService.lookupEvents(request.getIds(), requesterId);
     }
 
+    /**
+     * Returns a page of the event feed. A full page carries an {@value #NEXT_CURSOR_HEADER} header; passing it back
+     * as {@code cursor} continues the feed by keyset instead of by offset, so deep pages cost the same as the first.
+     * {@code page} is ignored when {@code cursor} is given. With {@code summary=true} events come without
+     * {@code description}.
+     * <p>
+     * {@code q} searches event name, location and description and returns the best matches first. Search results are
+     * paged by {@code page} only: they carry no cursor, and {@code cursor} cannot be combined with {@code q}.
+     * <p>
+     * {@code from}/{@code to} return only events overlapping {@code [from, to)}; either bound may be omitted.
+     * {@code sort=START} orders events by start time, soonest first, instead of newest first. A cursor remembers the
+     * order it was issued for and overrides {@code sort}.
+     */
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    public List<EventResponse> getEvents(@RequestParam(required = false, defaultValue = "0") @PositiveOrZero int page,
-                                         @RequestParam(required = false, defaultValue = "10") @Positive int size,
-                                         @RequestParam(value = "ownerId", required = false) Long ownerId,
-                                         @RequestParam(value = "status", required = false)
-                                             EventRegistrationStatus status) {
-        Sort sort = Sort.by(Sort.Direction.DESC, "createdDateTime");
-        EventSearchParam param = EventSearchParam.builder()
-                .pageable(PageRequest.of(page, size, sort))
+    public ResponseEntity<List<EventResponse>> getEvents(@RequestParam(required = false, defaultValue = "0") @PositiveOrZero int page,
+                                                         @RequestParam(required = false, defaultValue = "10") @Positive int size,
+                                                         @RequestParam(value = "ownerId", required = false) Long ownerId,
+                                                         @RequestParam(value = "status", required = false)
+                                                             EventRegistrationStatus status,
+                                                         @RequestParam(value = "cursor", required = false) String cursor,
+                                                         @RequestParam(value = "summary", required = false, defaultValue = "false")
+                                                             boolean summary,
+                                                         @RequestParam(value = "q", required = false)
+                                                             @Size(max = MAX_QUERY_LENGTH) String q,
+                                                         @RequestParam(value = "from", required = false)
+                                                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                             LocalDateTime from,
+                                                         @RequestParam(value = "to", required = false)
+                                                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                             LocalDateTime to,
+                                                         @RequestParam(value = "sort", required = false, defaultValue = "CREATED")
+                                                             EventSort sort) {
+        if (q != null && !q.isBlank() && cursor != null) {
+            throw new BadRequest("cursor cannot be combined with q");
+        }
+        EventCursor eventCursor = cursor != null ? cursorCodec.decode(cursor) : null;
+        EventSort eventSort = eventCursor != null ? eventCursor.getSort() : sort;
+        EventSearchParam param = filters(ownerId, status, q, from, to)
+                .pageable(PageRequest.of(page, size, eventSort.toSort()))
+                .cursor(eventCursor)
+                .summary(summary)
+                .sort(eventSort)
+                .build();
+        EventPage eventPage = eventService.getEventPage(param);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (eventPage.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, eventPage.getNextCursor());
+        }
+        return response.body(eventPage.getEvents());
+    }
+
+    /**
+     * Streams all events matching the same filters as {@link #getEvents} as NDJSON, one event per line in id order.
+     * Rows are read from a database cursor and written as they arrive, so the export size is not limited by memory.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEvents(@RequestParam(value = "ownerId", required = false) Long ownerId,
+                                                              @RequestParam(value = "status", required = false)
+                                                                  EventRegistrationStatus status,
+                                                              @RequestParam(value = "summary", required = false, defaultValue = "false")
+                                                                  boolean summary,
+                                                              @RequestParam(value = "q", required = false)
+                                                                  @Size(max = MAX_QUERY_LENGTH) String q,
+                                                              @RequestParam(value = "from", required = false)
+                                                                  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                                  LocalDateTime from,
+                                                              @RequestParam(value = "to", required = false)
+                                                                  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                                  LocalDateTime to) {
+        EventSearchParam param = filters(ownerId, status, q, from, to)
+                .summary(summary)
+                .build();
+        log.info("Request: export events, param={}", param);
+        StreamingResponseBody body = outputStream -> eventService.exportEvents(param, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Pushes committed changes of events as server-sent events, named by change type, with the event id, owner id
+     * and version as data. {@code eventId} and {@code ownerId} narrow the stream to one event or to the events of one
+     * owner. The stream carries no history: a client that reconnects should reload what it shows. 503 when this
+     * instance has as many subscribers as it takes.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestParam(value = "eventId", required = false) Long eventId,
+                                   @RequestParam(value = "ownerId", required = false) Long ownerId) {
+        log.info("Request: stream changes of events, eventId={}, ownerId={}", eventId, ownerId);
+        return eventStreamService.subscribe(eventId, ownerId);
+    }
+
+    private EventSearchParam.EventSearchParamBuilder filters(Long ownerId, EventRegistrationStatus status, String q,
+                                                             LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new BadRequest("from must be before to");
+        }
+        return EventSearchParam.builder()
                 .ownerId(ownerId)
                 .status(status)
-                .build();
-        return eventService.getEvents(param);
+                .text((q == null || q.isBlank()) ? null : q.strip())
+                .from(from)
+                .to(to);
     }
 
     @DeleteMapping("/{id}")
@@ -68,5 +223,24 @@ public class EventController {
                             @RequestHeader("X-User-Id") Long requesterId) {
         eventService.deleteEvent(id, requesterId);
     }
-}
 
+    /**
+     * Registers the requester for the event: 409 when registration is not open, the event is full or the requester
+     * is already registered. Taking the last place of a limited event closes its registration.
+     */
+    @PostMapping("/{id}/registrations")
+    @ResponseStatus(HttpStatus.CREATED)
+    public EventRegistrationDto register(@PathVariable Long id,
+                                         @RequestHeader("X-User-Id") Long requesterId) {
+        log.info("Request: register user(id={}) for event(id={})", requesterId, id);
+        return eventRegistrationService.register(id, requesterId);
+    }
+
+    @DeleteMapping("/{id}/registrations")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void cancelRegistration(@PathVariable Long id,
+                                   @RequestHeader("X-User-Id") Long requesterId) {
+        log.info("Request: cancel registration of user(id={}) for event(id={})", requesterId, id);
+        eventRegistrationService.cancelRegistration(id, requesterId);
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.workshop.eventservice.controller;
+
+import ru.practicum.workshop.eventservice.error.PreconditionFailedException;
+import ru.practicum.workshop.eventservice.model.EventVersion;
+
+/**
+ * Strong ETags of event resources, derived from the event version. Owners get a different representation of an
+ * event (with {@code createdDateTime}), so their ETag differs as well.
+ */
+final class EventETags {
+    private static final String OWNER_SUFFIX = "-owner";
+    private static final String TEAM_PREFIX = "team-";
+
+    private EventETags() {
+    }
+
+    static String ofEvent(EventVersion version, Long requesterId) {
+        String tag = String.valueOf(version.version());
+        return quote(version.ownerId().equals(requesterId) ? tag + OWNER_SUFFIX : tag);
+    }
+
+    static String ofTeam(Long version) {
+        return quote(TEAM_PREFIX + version);
+    }
+
+    /**
+     * Event version an {@code If-Match} value refers to, or {@code null} for {@code *} or no header.
+     */
+    static Long parseEventVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.strip().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.strip();
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            // Weak tags never match for If-Match, and anything else was not issued by us.
+            throw new PreconditionFailedException("Event has been modified");
+        }
+        tag = tag.substring(1, tag.length() - 1);
+        if (tag.endsWith(OWNER_SUFFIX)) {
+            tag = tag.substring(0, tag.length() - OWNER_SUFFIX.length());
+        }
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("Event has been modified");
+        }
+    }
+
+    private static String quote(String tag) {
+        return "\"" + tag + "\"";
+    }
+}
@@ -1,19 +1,27 @@
 package ru.practicum.workshop.eventservice.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.workshop.eventservice.dto.NewOrgTeamMemberDto;
+import ru.practicum.workshop.eventservice.dto.OrgTeamMemberImportResultDto;
 import ru.practicum.workshop.eventservice.dto.PublicOrgTeamMemberDto;
 import ru.practicum.workshop.eventservice.dto.UpdateOrgTeamMemberDto;
 import ru.practicum.workshop.eventservice.service.OrgTeamMemberService;
 
 import java.util.List;
 
+import static ru.practicum.workshop.eventservice.dto.constants.OrgTeamMemberDtoConstants.*;
+
 @RestController
 @RequestMapping("/events")
 @Validated
@@ -31,6 +39,20 @@ public class OrganizingTeamController {
         return orgTeamMemberService.addTeamMember(requesterId, newOrgTeamMemberDto);
     }
 
+    @PostMapping("/{eventId}/orgs/batch")
+    @ResponseStatus(HttpStatus.OK)
+    public List<OrgTeamMemberImportResultDto> addTeamMembers(
+            @RequestHeader(name = "X-User-Id") @Positive Long requesterId,
+            @PathVariable(name = "eventId") @Positive Long eventId,
+            @RequestBody
+            @NotEmpty(message = BATCH_NOT_EMPTY_ERROR_MESSAGE)
+            @Size(max = MAX_BATCH_SIZE, message = BATCH_SIZE_ERROR_MESSAGE)
+            List<@NotNull @Valid NewOrgTeamMemberDto> newOrgTeamMemberDtos) {
+        log.info("Request: add {} team members, requester id={}, event id={}",
+                newOrgTeamMemberDtos.size(), requesterId, eventId);
+        return orgTeamMemberService.addTeamMembers(requesterId, eventId, newOrgTeamMemberDtos);
+    }
+
     @PatchMapping("/orgs")
     @ResponseStatus(HttpStatus.OK)
     public PublicOrgTeamMemberDto updateTeamMemberData(@RequestHeader(name = "X-User-Id") @Positive Long requesterId,
@@ -50,10 +72,22 @@ public class OrganizingTeamController {
         orgTeamMemberService.deleteTeamMember(requesterId, eventId, userId);
     }
 
+    /**
+     * Returns the team with an ETag; a matching {@code If-None-Match} is answered with 304 without reading the team.
+     */
     @GetMapping("/orgs/{eventId}")
-    @ResponseStatus(HttpStatus.OK)
-    public List<PublicOrgTeamMemberDto> getTeamMembers(@PathVariable(name = "eventId") @Positive Long eventId) {
+    public ResponseEntity<List<PublicOrgTeamMemberDto>> getTeamMembers(
+            @PathVariable(name = "eventId") @Positive Long eventId,
+            WebRequest webRequest) {
         log.info("Request: get all team members for event with id={}", eventId);
-        return orgTeamMemberService.getTeamMembers(eventId);
+        String eTag = EventETags.ofTeam(orgTeamMemberService.getTeamVersion(eventId));
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(orgTeamMemberService.getTeamMembers(eventId));
     }
 }
@@ -0,0 +1,23 @@
+package ru.practicum.workshop.eventservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.workshop.eventservice.model.EventChangeType;
+
+/**
+ * A committed change of an event or its organizing team, as pushed to {@code GET /events/stream} subscribers.
+ * {@code id} is that of the outbox record of the change; {@code version} is the event version after the change.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventChangeNotification {
+    private Long id;
+    private Long eventId;
+    private Long ownerId;
+    private EventChangeType changeType;
+    private Long version;
+}
@@ -0,0 +1,24 @@
+package ru.practicum.workshop.eventservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventLookupRequest {
+    public static final int MAX_IDS = 500;
+
+    @NotEmpty(message = "At least one event id must be provided.")
+    @Size(max = MAX_IDS, message = "No more than " + MAX_IDS + " events can be looked up at once.")
+    private List<@NotNull @Positive Long> ids;
+}
@@ -0,0 +1,23 @@
+package ru.practicum.workshop.eventservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventLookupResponse {
+    /**
+     * Found events in the order of the requested ids, each once.
+     */
+    private List<EventResponse> events;
+    /**
+     * Requested ids with no event.
+     */
+    private List<Long> missingIds;
+}
@@ -0,0 +1,17 @@
+package ru.practicum.workshop.eventservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventPage {
+    private List<EventResponse> events;
+    private String nextCursor;
+}
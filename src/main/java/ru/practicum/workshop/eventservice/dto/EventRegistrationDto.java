@@ -0,0 +1,22 @@
+package ru.practicum.workshop.eventservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventRegistrationDto {
+
+    private Long eventId;
+
+    private Long userId;
+
+    private LocalDateTime registeredDateTime;
+
+}
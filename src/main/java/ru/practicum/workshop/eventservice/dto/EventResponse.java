@@ -17,6 +17,7 @@ import java.time.LocalDateTime;
 public class EventResponse {
     private Long id;
     private String name;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String description;
     private LocalDateTime startDateTime;
     private LocalDateTime endDateTime;
@@ -0,0 +1,20 @@
+package ru.practicum.workshop.eventservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.workshop.eventservice.model.EventVersion;
+
+/**
+ * An updated event together with the version it was written with, so that the ETag of the response describes
+ * exactly the returned body.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventUpdateResult {
+    private EventResponse event;
+    private EventVersion version;
+}
@@ -0,0 +1,29 @@
+package ru.practicum.workshop.eventservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.workshop.eventservice.model.OrgTeamMember;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrgTeamMemberImportResultDto {
+
+    public enum Status {
+        ADDED,
+        DUPLICATE,
+        USER_NOT_FOUND,
+        EVENT_OWNER,
+        EVENT_MISMATCH;
+    }
+
+    private Long userId;
+
+    private OrgTeamMember.Role role;
+
+    private Status status;
+
+}
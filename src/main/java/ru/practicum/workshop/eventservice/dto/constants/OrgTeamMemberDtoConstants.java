@@ -10,4 +10,9 @@ public final class OrgTeamMemberDtoConstants {
 
     public static final String ROLE_NOT_NULL_ERROR_MESSAGE = "Member role must be provided.";
 
+    public static final int MAX_BATCH_SIZE = 500;
+    public static final String BATCH_NOT_EMPTY_ERROR_MESSAGE = "At least one team member must be provided.";
+    public static final String BATCH_SIZE_ERROR_MESSAGE = "No more than " + MAX_BATCH_SIZE
+            + " team members can be added at once.";
+
 }
@@ -0,0 +1,7 @@
+package ru.practicum.workshop.eventservice.error;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.workshop.eventservice.error;
+
+/**
+ * User Service failed to answer a lookup: it answered with an unexpected status, timed out, or is not called at the
+ * moment because it has been failing. Answered with 503.
+ */
+public class UserServiceException extends ServiceUnavailableException {
+    private final int status;
+
+    public UserServiceException(int status) {
+        super(String.format("User Service answered with status %d", status));
+        this.status = status;
+    }
+
+    public UserServiceException(String message, Throwable cause) {
+        super(message, cause);
+        this.status = 0;
+    }
+
+    /**
+     * Whether the failure is worth another try: a 5xx or 429 answer. Other statuses would be answered the same again.
+     */
+    public boolean isTransient() {
+        return status >= 500 || status == 429;
+    }
+}
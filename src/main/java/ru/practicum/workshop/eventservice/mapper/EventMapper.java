@@ -5,19 +5,21 @@ import ru.practicum.workshop.eventservice.dto.EventRequest;
 import ru.practicum.workshop.eventservice.dto.EventResponse;
 import ru.practicum.workshop.eventservice.error.BadRequest;
 import ru.practicum.workshop.eventservice.model.Event;
+import ru.practicum.workshop.eventservice.model.EventListItem;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @Mapper(componentModel = "spring", builder = @Builder(disableBuilder = true),
-        unmappedTargetPolicy = ReportingPolicy.IGNORE, imports = {LocalDateTime.class})
+        unmappedTargetPolicy = ReportingPolicy.IGNORE, imports = {LocalDateTime.class, ChronoUnit.class})
 public interface EventMapper {
 
     @Mapping(target = "ownerId", source = "requesterId")
     Event toModel(EventRequest eventRequest, Long requesterId);
 
     @Mapping(target = "ownerId", source = "requesterId")
-    @Mapping(target = "createdDateTime", expression = "java(LocalDateTime.now())")
+    @Mapping(target = "createdDateTime", expression = "java(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))")
     Event toCreatingModel(EventRequest eventRequest, Long requesterId);
 
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
@@ -25,6 +27,8 @@ public interface EventMapper {
     @Mapping(target = "participantLimit", expression = "java(updateParticipantLimit(eventRequest, event))")
     Event updateEvent(EventRequest eventRequest, @MappingTarget Event event);
 
+    EventRequest toRequest(Event event);
+
     EventResponse toDtoWithCreateDateTime(Event event);
 
     @Named("toEventDtoPublic")
@@ -34,6 +38,11 @@ public interface EventMapper {
     @IterableMapping(qualifiedByName = "toEventDtoPublic")
     List<EventResponse> toEventsDtoPublic(List<Event> events);
 
+    @Mapping(target = "createdDateTime", ignore = true)
+    EventResponse toDtoPublic(EventListItem event);
+
+    List<EventResponse> toListItemsDtoPublic(List<EventListItem> events);
+
     default boolean updateIsLimited(EventRequest eventRequest, Event event) {
         if (!event.isLimited() && eventRequest.isLimited()) {
             throw new BadRequest("The event participant limit cannot be reduced");
@@ -0,0 +1,13 @@
+package ru.practicum.workshop.eventservice.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+import ru.practicum.workshop.eventservice.dto.EventRegistrationDto;
+import ru.practicum.workshop.eventservice.model.EventRegistration;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface EventRegistrationMapper {
+
+    EventRegistrationDto toDto(EventRegistration registration);
+
+}
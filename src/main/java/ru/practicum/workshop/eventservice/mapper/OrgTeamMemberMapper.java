@@ -7,8 +7,6 @@ import ru.practicum.workshop.eventservice.dto.UpdateOrgTeamMemberDto;
 import ru.practicum.workshop.eventservice.model.Event;
 import ru.practicum.workshop.eventservice.model.OrgTeamMember;
 
-import java.util.List;
-
 @Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
 public interface OrgTeamMemberMapper {
 
@@ -23,6 +21,4 @@ public interface OrgTeamMemberMapper {
 
     PublicOrgTeamMemberDto toPublicOrgTeamMemberDto(OrgTeamMember orgTeamMember);
 
-    List<PublicOrgTeamMemberDto> toPublicOrgTeamMemberDto(List<OrgTeamMember> orgTeamMembers);
-
 }
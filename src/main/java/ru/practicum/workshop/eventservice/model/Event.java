@@ -2,12 +2,16 @@ package ru.practicum.workshop.eventservice.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
 @Table(name = "events")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "events")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,7 +20,8 @@ import java.util.List;
 @ToString
 public class Event {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "events_seq")
+    @SequenceGenerator(name = "events_seq", sequenceName = "events_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -53,4 +58,11 @@ public class Event {
 
     @Column(name = "participant_limit")
     private Integer participantLimit;
+
+    /**
+     * Incremented on every update of the event and of its organizing team.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
\ No newline at end of file
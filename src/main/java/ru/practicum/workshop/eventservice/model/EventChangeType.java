@@ -0,0 +1,10 @@
+package ru.practicum.workshop.eventservice.model;
+
+public enum EventChangeType {
+    EVENT_CREATED,
+    EVENT_UPDATED,
+    EVENT_DELETED,
+    TEAM_MEMBER_ADDED,
+    TEAM_MEMBER_UPDATED,
+    TEAM_MEMBER_REMOVED
+}
@@ -0,0 +1,37 @@
+package ru.practicum.workshop.eventservice.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row of the event feed, selected straight from {@code events} without loading {@link Event} entities
+ * into the persistence context. {@code description} is {@code null} when the feed is requested as a summary.
+ */
+public record EventListItem(Long id,
+                            String name,
+                            String description,
+                            LocalDateTime createdDateTime,
+                            LocalDateTime startDateTime,
+                            LocalDateTime endDateTime,
+                            String location,
+                            Long ownerId,
+                            EventRegistrationStatus registrationStatus,
+                            boolean limited,
+                            Integer participantLimit) {
+
+    /**
+     * Summary row: used by the criteria query when {@code description} is not selected.
+     */
+    public EventListItem(Long id,
+                         String name,
+                         LocalDateTime createdDateTime,
+                         LocalDateTime startDateTime,
+                         LocalDateTime endDateTime,
+                         String location,
+                         Long ownerId,
+                         EventRegistrationStatus registrationStatus,
+                         boolean limited,
+                         Integer participantLimit) {
+        this(id, name, null, createdDateTime, startDateTime, endDateTime, location, ownerId, registrationStatus,
+                limited, participantLimit);
+    }
+}
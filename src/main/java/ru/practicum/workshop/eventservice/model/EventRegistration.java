@@ -0,0 +1,34 @@
+package ru.practicum.workshop.eventservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A participant registered for an event. The number of registrations per event is kept in
+ * {@code events.registered_count}, which is what registration capacity is enforced on.
+ */
+@Entity
+@Table(name = "event_registrations")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class EventRegistration {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_registrations_seq")
+    @SequenceGenerator(name = "event_registrations_seq", sequenceName = "event_registrations_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "registered_date_time", nullable = false)
+    private LocalDateTime registeredDateTime;
+}
@@ -0,0 +1,8 @@
+package ru.practicum.workshop.eventservice.model;
+
+/**
+ * What is needed to validate a conditional request for an event without loading it: its {@link Event#getVersion()}
+ * and owner, since owners are shown a different representation.
+ */
+public record EventVersion(Long id, Long ownerId, Long version) {
+}
@@ -2,9 +2,13 @@ package ru.practicum.workshop.eventservice.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "organizing_team_members")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "orgTeamMembers")
 @Getter
 @Setter
 @Builder
@@ -19,10 +23,12 @@ public class OrgTeamMember {
     }
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "organizing_team_members_seq")
+    @SequenceGenerator(name = "organizing_team_members_seq", sequenceName = "organizing_team_members_seq",
+            allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "event_id")
     @ToString.Exclude
     private Event event;
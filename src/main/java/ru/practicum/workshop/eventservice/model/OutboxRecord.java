@@ -0,0 +1,50 @@
+package ru.practicum.workshop.eventservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A change of an event or its organizing team waiting to be sent out by
+ * {@link ru.practicum.workshop.eventservice.outbox.OutboxRelay}.
+ */
+@Entity
+@Table(name = "event_outbox")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class OutboxRecord {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_outbox_seq")
+    @SequenceGenerator(name = "event_outbox_seq", sequenceName = "event_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false)
+    private EventChangeType changeType;
+
+    /**
+     * Version of the event once the change is committed, which orders the changes of an event. A team change forces
+     * an increment at commit, so it is the current version plus one. An {@code EVENT_DELETED} record keeps the version
+     * of the last change and comes after it.
+     */
+    @Column(name = "event_version")
+    private Long eventVersion;
+
+    /**
+     * JSON of the event or team member after the change, or of the team member removed; {@code null} for a deleted
+     * event.
+     */
+    @Column(name = "payload")
+    private String payload;
+
+    @Column(name = "created_date_time", nullable = false)
+    private LocalDateTime createdDateTime;
+}
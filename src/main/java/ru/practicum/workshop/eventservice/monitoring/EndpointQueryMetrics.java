@@ -0,0 +1,58 @@
+package ru.practicum.workshop.eventservice.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters of one endpoint, registered on its first request.
+ */
+final class EndpointQueryMetrics {
+    private final String name;
+    private final int budget;
+    private final DistributionSummary statements;
+    private final Timer time;
+    private final Counter overBudget;
+
+    EndpointQueryMetrics(String name, int budget, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.budget = budget;
+        this.statements = DistributionSummary.builder("event.endpoint.statements")
+                .description("JDBC statements run by one request")
+                .baseUnit("statements")
+                .tag("endpoint", name)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(1000.0)
+                .register(meterRegistry);
+        this.time = Timer.builder("event.endpoint.statement.time")
+                .description("Time one request spent running JDBC statements")
+                .tag("endpoint", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.overBudget = Counter.builder("event.endpoint.statements.over.budget")
+                .description("Requests that ran more JDBC statements than the budget of the endpoint")
+                .tag("endpoint", name)
+                .register(meterRegistry);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getBudget() {
+        return budget;
+    }
+
+    void record(RequestQueryStats stats) {
+        statements.record(stats.getStatements());
+        time.record(stats.getNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    void recordOverBudget() {
+        overBudget.increment();
+    }
+}
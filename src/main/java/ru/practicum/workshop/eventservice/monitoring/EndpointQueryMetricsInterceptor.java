@@ -0,0 +1,75 @@
+package ru.practicum.workshop.eventservice.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import ru.practicum.workshop.eventservice.config.QueryMetricsProperties;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tags the statements counted by {@link QueryCountingListener} with the controller method handling the request and
+ * records them when the request completes: {@code event.endpoint.statements} and {@code event.endpoint.statement.time}
+ * per {@code endpoint} ({@code Controller.method}). A request running more statements than the budget of its endpoint
+ * is logged and counted in {@code event.endpoint.statements.over.budget}.
+ * <p>
+ * For asynchronous requests ({@code GET /events/export}, {@code GET /events/stream}) only the statements run before
+ * the response is handed over to another thread are recorded.
+ */
+@Slf4j
+public class EndpointQueryMetricsInterceptor implements AsyncHandlerInterceptor {
+    private final QueryMetricsProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<Method, EndpointQueryMetrics> endpoints = new ConcurrentHashMap<>();
+
+    public EndpointQueryMetricsInterceptor(QueryMetricsProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.REQUEST && handler instanceof HandlerMethod handlerMethod) {
+            RequestQueryStats.start(endpoints.computeIfAbsent(handlerMethod.getMethod(),
+                    method -> newEndpoint(handlerMethod)));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        record(RequestQueryStats.finish());
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        record(RequestQueryStats.finish());
+    }
+
+    private EndpointQueryMetrics newEndpoint(HandlerMethod handlerMethod) {
+        String name = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        return new EndpointQueryMetrics(name, properties.getBudget(name), meterRegistry);
+    }
+
+    private void record(RequestQueryStats stats) {
+        if (stats == null) {
+            return;
+        }
+        EndpointQueryMetrics endpoint = stats.getEndpoint();
+        endpoint.record(stats);
+        if (stats.getStatements() > endpoint.getBudget()) {
+            endpoint.recordOverBudget();
+            log.warn("{} ran {} SQL statements in {} ms, over its budget of {}", endpoint.getName(),
+                    stats.getStatements(), TimeUnit.NANOSECONDS.toMillis(stats.getNanos()), endpoint.getBudget());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.workshop.eventservice.monitoring;
+
+/**
+ * Statements run so far by the request handled on the current thread. Statements of threads with no request, such as
+ * the outbox relay or the body of {@code GET /events/export} written asynchronously, are not counted.
+ */
+final class RequestQueryStats {
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private final EndpointQueryMetrics endpoint;
+    private int statements;
+    private long nanos;
+    private long statementStartedAt;
+
+    private RequestQueryStats(EndpointQueryMetrics endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    static void start(EndpointQueryMetrics endpoint) {
+        CURRENT.set(new RequestQueryStats(endpoint));
+    }
+
+    static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @return the statements of the request, or {@code null} when the thread has none
+     */
+    static RequestQueryStats finish() {
+        RequestQueryStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    void statementStarted() {
+        statementStartedAt = System.nanoTime();
+    }
+
+    void statementFinished() {
+        statements++;
+        nanos += System.nanoTime() - statementStartedAt;
+    }
+
+    EndpointQueryMetrics getEndpoint() {
+        return endpoint;
+    }
+
+    int getStatements() {
+        return statements;
+    }
+
+    long getNanos() {
+        return nanos;
+    }
+}
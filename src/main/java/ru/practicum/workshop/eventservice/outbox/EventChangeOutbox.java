@@ -0,0 +1,82 @@
+package ru.practicum.workshop.eventservice.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.workshop.eventservice.dto.EventChangeNotification;
+import ru.practicum.workshop.eventservice.mapper.EventMapper;
+import ru.practicum.workshop.eventservice.mapper.OrgTeamMemberMapper;
+import ru.practicum.workshop.eventservice.model.Event;
+import ru.practicum.workshop.eventservice.model.EventChangeType;
+import ru.practicum.workshop.eventservice.model.OrgTeamMember;
+import ru.practicum.workshop.eventservice.model.OutboxRecord;
+import ru.practicum.workshop.eventservice.repository.OutboxRecordRepository;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Writes change records into the outbox. Has to be called in the transaction of the change, so that a record exists
+ * if and only if the change was committed. Each record is also published as an {@link EventChangeNotification} for
+ * listeners in this instance, such as {@code GET /events/stream}.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class EventChangeOutbox {
+    private final OutboxRecordRepository outboxRecordRepository;
+    private final EventMapper eventMapper;
+    private final OrgTeamMemberMapper orgTeamMemberMapper;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Records a change of the event, after it has been saved (so that its version is the new one).
+     */
+    public void eventChanged(EventChangeType changeType, Event event) {
+        String payload = changeType == EventChangeType.EVENT_DELETED
+                ? null
+                : toJson(eventMapper.toDtoWithCreateDateTime(event));
+        save(event, changeType, event.getVersion(), payload);
+    }
+
+    /**
+     * Records a change of the organizing team. The caller increments the event version along with it, so the change
+     * commits as the next version; if a concurrent change takes that version first, the optimistic lock fails this
+     * transaction and the record goes with it.
+     */
+    public void teamMemberChanged(EventChangeType changeType, Event event, OrgTeamMember member) {
+        save(event, changeType, event.getVersion() + 1,
+                toJson(orgTeamMemberMapper.toPublicOrgTeamMemberDto(member)));
+    }
+
+    private void save(Event event, EventChangeType changeType, Long eventVersion, String payload) {
+        OutboxRecord record = outboxRecordRepository.save(OutboxRecord.builder()
+                .eventId(event.getId())
+                .changeType(changeType)
+                .eventVersion(eventVersion)
+                .payload(payload)
+                .createdDateTime(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))
+                .build());
+        eventPublisher.publishEvent(EventChangeNotification.builder()
+                .id(record.getId())
+                .eventId(event.getId())
+                .ownerId(event.getOwnerId())
+                .changeType(changeType)
+                .version(eventVersion)
+                .build());
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
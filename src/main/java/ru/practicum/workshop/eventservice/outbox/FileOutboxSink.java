@@ -0,0 +1,39 @@
+package ru.practicum.workshop.eventservice.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends change records to a file, one JSON object per line, and forces them to disk before a batch counts as sent.
+ */
+public class FileOutboxSink implements OutboxSink {
+    private final Path file;
+    private final ObjectWriter writer;
+
+    public FileOutboxSink(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.writer = objectMapper.writerFor(OutboxMessage.class);
+    }
+
+    @Override
+    public void send(List<OutboxMessage> messages) {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC)) {
+            for (OutboxMessage message : messages) {
+                out.write(writer.writeValueAsString(message));
+                out.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write change records to " + file, e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.workshop.eventservice.outbox;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Keeps change records in memory for whoever reads them in the same process, such as tests.
+ */
+public class InMemoryOutboxSink implements OutboxSink {
+    private final ConcurrentLinkedQueue<OutboxMessage> messages = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void send(List<OutboxMessage> batch) {
+        messages.addAll(batch);
+    }
+
+    /**
+     * Removes and returns the records received so far, oldest first.
+     */
+    public List<OutboxMessage> drain() {
+        List<OutboxMessage> drained = new ArrayList<>();
+        OutboxMessage message;
+        while ((message = messages.poll()) != null) {
+            drained.add(message);
+        }
+        return drained;
+    }
+}
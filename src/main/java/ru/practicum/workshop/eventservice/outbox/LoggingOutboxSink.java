@@ -0,0 +1,17 @@
+package ru.practicum.workshop.eventservice.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * Writes change records to the application log; the default until a real consumer is wired in.
+ */
+@Slf4j
+public class LoggingOutboxSink implements OutboxSink {
+
+    @Override
+    public void send(List<OutboxMessage> messages) {
+        messages.forEach(message -> log.info("Event change: {}", message));
+    }
+}
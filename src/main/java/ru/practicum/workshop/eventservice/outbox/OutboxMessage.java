@@ -0,0 +1,17 @@
+package ru.practicum.workshop.eventservice.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import ru.practicum.workshop.eventservice.model.EventChangeType;
+
+import java.time.LocalDateTime;
+
+/**
+ * A change record as handed to an {@link OutboxSink}. {@code id} identifies a record across redeliveries but does
+ * not give the order of changes: ids come from a pooled sequence, handed out in blocks per instance, and
+ * transactions commit in any order. The changes of one event are ordered by {@code eventVersion}; the records of one
+ * transaction share it and are the only ones that may, and come in {@code id} order. {@code payload} is JSON, see
+ * {@link ru.practicum.workshop.eventservice.model.OutboxRecord#getPayload()}.
+ */
+public record OutboxMessage(Long id, Long eventId, EventChangeType changeType, Long eventVersion,
+                            LocalDateTime createdDateTime, @JsonRawValue String payload) {
+}
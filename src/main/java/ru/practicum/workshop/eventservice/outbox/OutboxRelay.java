@@ -0,0 +1,119 @@
+package ru.practicum.workshop.eventservice.outbox;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.workshop.eventservice.config.OutboxProperties;
+import ru.practicum.workshop.eventservice.model.OutboxRecord;
+import ru.practicum.workshop.eventservice.repository.OutboxRecordRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Sends change records from the outbox to the {@link OutboxSink} in batches of {@code event.outbox.batch-size},
+ * roughly oldest first, and deletes them once the sink has accepted them. Ids are not in commit order, so a change
+ * of an event may be sent before an earlier one; see {@link OutboxMessage} for how to order them. Publishes
+ * {@code event.outbox.relay.batch.size} (records per batch) and {@code event.outbox.relay.lag} (time from a record
+ * being written to being accepted).
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+    private final OutboxRecordRepository outboxRecordRepository;
+    private final OutboxSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+    private final OutboxProperties properties;
+    private final DistributionSummary batchSize;
+    private final Timer lag;
+
+    private ScheduledFuture<?> relayTask;
+
+    public OutboxRelay(OutboxRecordRepository outboxRecordRepository, OutboxSink sink,
+                       TransactionTemplate transactionTemplate, TaskScheduler taskScheduler,
+                       OutboxProperties properties, MeterRegistry meterRegistry) {
+        this.outboxRecordRepository = outboxRecordRepository;
+        this.sink = sink;
+        this.transactionTemplate = transactionTemplate;
+        this.taskScheduler = taskScheduler;
+        this.properties = properties;
+        this.batchSize = DistributionSummary.builder("event.outbox.relay.batch.size")
+                .description("Change records sent to the sink in one batch")
+                .register(meterRegistry);
+        this.lag = Timer.builder("event.outbox.relay.lag")
+                .description("Time from a change record being written to the sink accepting it")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (properties.isRelayEnabled()) {
+            relayTask = taskScheduler.scheduleWithFixedDelay(this::relay, properties.getPollInterval());
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (relayTask != null) {
+            relayTask.cancel(false);
+        }
+    }
+
+    /**
+     * Sends batches until the outbox is empty or the sink fails; in the latter case the failed batch stays in the
+     * outbox for the next poll.
+     *
+     * @return number of records sent
+     */
+    public int relay() {
+        int relayed = 0;
+        try {
+            int sent;
+            do {
+                sent = relayBatch();
+                relayed += sent;
+            } while (sent == properties.getBatchSize());
+        } catch (RuntimeException e) {
+            log.warn("Failed to relay change records, {} sent before the failure", relayed, e);
+        }
+        return relayed;
+    }
+
+    private int relayBatch() {
+        Integer sent = transactionTemplate.execute(status -> {
+            List<OutboxRecord> records = outboxRecordRepository.findByOrderByIdAsc(
+                    Limit.of(properties.getBatchSize()));
+            if (records.isEmpty()) {
+                return 0;
+            }
+            sink.send(records.stream()
+                    .map(OutboxRelay::toMessage)
+                    .toList());
+            outboxRecordRepository.deleteAllByIdInBatch(records.stream()
+                    .map(OutboxRecord::getId)
+                    .toList());
+
+            LocalDateTime now = LocalDateTime.now();
+            records.forEach(record -> lag.record(Duration.between(record.getCreatedDateTime(), now)));
+            batchSize.record(records.size());
+            return records.size();
+        });
+        return sent != null ? sent : 0;
+    }
+
+    private static OutboxMessage toMessage(OutboxRecord record) {
+        return new OutboxMessage(record.getId(), record.getEventId(), record.getChangeType(),
+                record.getEventVersion(), record.getCreatedDateTime(), record.getPayload());
+    }
+}
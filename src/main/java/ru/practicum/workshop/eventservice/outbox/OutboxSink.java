@@ -0,0 +1,15 @@
+package ru.practicum.workshop.eventservice.outbox;
+
+import java.util.List;
+
+/**
+ * Where {@link OutboxRelay} sends change records. Delivery is at least once: if {@link #send} throws, the whole batch
+ * is sent again on the next poll, so consumers have to tolerate records they have already seen.
+ */
+public interface OutboxSink {
+
+    /**
+     * Sends a batch of records, oldest first. Returning normally means the sink has accepted all of them.
+     */
+    void send(List<OutboxMessage> messages);
+}
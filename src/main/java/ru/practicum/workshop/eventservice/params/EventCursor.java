@@ -0,0 +1,56 @@
+package ru.practicum.workshop.eventservice.params;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import ru.practicum.workshop.eventservice.error.BadRequest;
+import ru.practicum.workshop.eventservice.model.Event;
+import ru.practicum.workshop.eventservice.model.EventListItem;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Position in the event feed for keyset pagination: the order the feed is read in, and the sort key and id of the
+ * last row a client has seen. Clients receive it as an opaque token, see {@link EventCursorCodec}.
+ */
+@Value
+@AllArgsConstructor
+public class EventCursor {
+    private static final String SEPARATOR = "_";
+
+    EventSort sort;
+    LocalDateTime value;
+    Long id;
+
+    public EventCursor(LocalDateTime createdDateTime, Long id) {
+        this(EventSort.CREATED, createdDateTime, id);
+    }
+
+    public static EventCursor of(Event event) {
+        return new EventCursor(event.getCreatedDateTime(), event.getId());
+    }
+
+    public static EventCursor of(EventListItem event, EventSort sort) {
+        return new EventCursor(sort, sort.getValueExtractor().apply(event), event.id());
+    }
+
+    /**
+     * The plain form of the cursor, which {@link EventCursorCodec} encrypts.
+     */
+    String toRaw() {
+        return sort + SEPARATOR + value + SEPARATOR + id;
+    }
+
+    static EventCursor parse(String raw) {
+        try {
+            String[] parts = raw.split(SEPARATOR);
+            if (parts.length != 3) {
+                throw new BadRequest("Invalid cursor");
+            }
+            return new EventCursor(EventSort.valueOf(parts[0]), LocalDateTime.parse(parts[1]),
+                    Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequest("Invalid cursor");
+        }
+    }
+}
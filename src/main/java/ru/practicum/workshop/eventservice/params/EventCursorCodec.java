@@ -0,0 +1,82 @@
+package ru.practicum.workshop.eventservice.params;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.workshop.eventservice.error.BadRequest;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Turns {@link EventCursor}s into the tokens clients page with, and back. Tokens are encrypted and authenticated with
+ * AES-GCM, so a client can neither read the sort key of the last row (the creation time is not shown in the public
+ * feed) nor forge a position. The key is {@code event.cursor.secret}, Base64 of 16, 24 or 32 bytes, and has to be the
+ * same on every instance; without it a random key is generated and cursors only work on the instance that issued
+ * them, until it restarts.
+ */
+@Component
+@Slf4j
+public class EventCursorCodec {
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+
+    private final SecureRandom random = new SecureRandom();
+    private final SecretKey key;
+
+    public EventCursorCodec(@Value("${event.cursor.secret:}") String secret) {
+        byte[] keyBytes;
+        if (secret.isBlank()) {
+            log.warn("event.cursor.secret is not set, cursors are only valid on this instance until it restarts");
+            keyBytes = new byte[32];
+            random.nextBytes(keyBytes);
+        } else {
+            keyBytes = Base64.getDecoder().decode(secret);
+            if (keyBytes.length != 16 && keyBytes.length != 24 && keyBytes.length != 32) {
+                throw new IllegalStateException("event.cursor.secret must be Base64 of 16, 24 or 32 bytes");
+            }
+        }
+        this.key = new SecretKeySpec(keyBytes, "AES");
+    }
+
+    public String encode(EventCursor cursor) {
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            byte[] encrypted = cipher.doFinal(cursor.toRaw().getBytes(StandardCharsets.UTF_8));
+            byte[] ivAndEncrypted = new byte[IV_LENGTH + encrypted.length];
+            System.arraycopy(iv, 0, ivAndEncrypted, 0, IV_LENGTH);
+            System.arraycopy(encrypted, 0, ivAndEncrypted, IV_LENGTH, encrypted.length);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(ivAndEncrypted);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to encrypt cursor", e);
+        }
+    }
+
+    /**
+     * @throws BadRequest if the token was not issued by {@link #encode} with the same key or has been altered
+     */
+    public EventCursor decode(String token) {
+        try {
+            byte[] ivAndEncrypted = Base64.getUrlDecoder().decode(token);
+            if (ivAndEncrypted.length <= IV_LENGTH) {
+                throw new BadRequest("Invalid cursor");
+            }
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, ivAndEncrypted, 0, IV_LENGTH));
+            byte[] raw = cipher.doFinal(ivAndEncrypted, IV_LENGTH, ivAndEncrypted.length - IV_LENGTH);
+            return EventCursor.parse(new String(raw, StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException | GeneralSecurityException e) {
+            throw new BadRequest("Invalid cursor");
+        }
+    }
+}
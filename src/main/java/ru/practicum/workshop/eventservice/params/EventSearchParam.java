@@ -5,10 +5,31 @@ import lombok.Data;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.workshop.eventservice.model.EventRegistrationStatus;
 
+import java.time.LocalDateTime;
+
 @Data
 @Builder
 public class EventSearchParam {
     private Pageable pageable;
     private Long ownerId;
     private EventRegistrationStatus status;
+    private EventCursor cursor;
+    private boolean summary;
+    /**
+     * Full-text query; when set, matching events are returned best match first.
+     */
+    private String text;
+    /**
+     * Lower bound of the period the returned events must overlap, inclusive.
+     */
+    private LocalDateTime from;
+    /**
+     * Upper bound of the period the returned events must overlap, exclusive.
+     */
+    private LocalDateTime to;
+    /**
+     * Order the next cursor is issued for; must match the sort of {@link #pageable}.
+     */
+    @Builder.Default
+    private EventSort sort = EventSort.CREATED;
 }
@@ -0,0 +1,37 @@
+package ru.practicum.workshop.eventservice.params;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import ru.practicum.workshop.eventservice.model.EventListItem;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * Orders the event feed can be read in. Each has an index ending in {@code (<column>, id)} in the same direction,
+ * so both offset and keyset pages are read straight off it.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum EventSort {
+    /**
+     * Newest first; the default feed.
+     */
+    CREATED("createdDateTime", Sort.Direction.DESC, EventListItem::createdDateTime),
+    /**
+     * Soonest first; for calendar views.
+     */
+    START("startDateTime", Sort.Direction.ASC, EventListItem::startDateTime);
+
+    private final String property;
+    private final Sort.Direction direction;
+    private final Function<EventListItem, LocalDateTime> valueExtractor;
+
+    /**
+     * The full order including the {@code id} tiebreak.
+     */
+    public Sort toSort() {
+        return Sort.by(direction, property).and(Sort.by(direction, "id"));
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.workshop.eventservice.repository;
+
+public interface CustomizedEventRegistrationRepository {
+    /**
+     * Takes a place at the event if its registration is open and, for a limited event, a place is left. A single
+     * conditional UPDATE of {@code events.registered_count}, so concurrent registrations cannot oversell; the row
+     * stays locked until the transaction ends.
+     *
+     * @return whether a place was taken
+     */
+    boolean takePlace(long eventId);
+
+    /**
+     * Gives a place back.
+     */
+    void releasePlace(long eventId);
+
+    /**
+     * Whether a limited event has no places left, read from the database rather than from any cache.
+     */
+    boolean isFull(long eventId);
+
+    /**
+     * Number of places taken at an existing event.
+     */
+    int getRegisteredCount(long eventId);
+
+    /**
+     * Reserves up to {@code places} free places of an open limited event for in-memory counting; reserved places are
+     * kept in {@code events.reserved_count} and count against the limit. Holds the row lock only for the statement.
+     *
+     * @return how many places were reserved, 0 when none are left
+     */
+    int reservePlaces(long eventId, int places);
+
+    /**
+     * Moves {@code taken} reserved places to {@code events.registered_count} (negative for places given back by
+     * cancellations) and releases {@code released} reserved places.
+     *
+     * @return whether the event still exists
+     */
+    boolean applyReservedPlaces(long eventId, long taken, long released);
+
+    /**
+     * Recounts taken places from {@code event_registrations} and drops all reservations, for events that have any.
+     *
+     * @return number of events reconciled
+     */
+    int reconcileReservedPlaces();
+}
@@ -0,0 +1,81 @@
+package ru.practicum.workshop.eventservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Keeps {@code events.registered_count} and {@code reserved_count} with plain JDBC: the columns are not mapped on
+ * {@link ru.practicum.workshop.eventservice.model.Event}, and going around Hibernate leaves the second-level cache of
+ * events untouched, which a bulk HQL or native query would clear as a whole.
+ */
+@RequiredArgsConstructor
+public class CustomizedEventRegistrationRepositoryImpl implements CustomizedEventRegistrationRepository {
+    private static final String TAKE_PLACE_SQL = "UPDATE events SET registered_count = registered_count + 1 "
+            + "WHERE id = ? AND registration_status = 'OPEN' "
+            + "AND (is_limited = FALSE OR registered_count + reserved_count < participant_limit)";
+    private static final String RELEASE_PLACE_SQL = "UPDATE events SET registered_count = registered_count - 1 "
+            + "WHERE id = ? AND registered_count > 0";
+    private static final String IS_FULL_SQL = "SELECT COUNT(*) FROM events "
+            + "WHERE id = ? AND is_limited = TRUE AND registered_count >= participant_limit";
+    private static final String REGISTERED_COUNT_SQL = "SELECT registered_count FROM events WHERE id = ?";
+    private static final String FREE_PLACES_SQL = "SELECT participant_limit - registered_count - reserved_count "
+            + "FROM events WHERE id = ? AND registration_status = 'OPEN' AND is_limited = TRUE";
+    private static final String RESERVE_PLACES_SQL = "UPDATE events SET reserved_count = reserved_count + ? "
+            + "WHERE id = ? AND registration_status = 'OPEN' AND is_limited = TRUE "
+            + "AND registered_count + reserved_count + ? <= participant_limit";
+    private static final String APPLY_RESERVED_PLACES_SQL = "UPDATE events "
+            + "SET registered_count = registered_count + ?, reserved_count = reserved_count - ? WHERE id = ?";
+    private static final String RECONCILE_SQL = "UPDATE events SET reserved_count = 0, registered_count = "
+            + "(SELECT COUNT(*) FROM event_registrations r WHERE r.event_id = events.id) WHERE reserved_count > 0";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean takePlace(long eventId) {
+        return jdbcTemplate.update(TAKE_PLACE_SQL, eventId) == 1;
+    }
+
+    @Override
+    public void releasePlace(long eventId) {
+        jdbcTemplate.update(RELEASE_PLACE_SQL, eventId);
+    }
+
+    @Override
+    public boolean isFull(long eventId) {
+        Integer count = jdbcTemplate.queryForObject(IS_FULL_SQL, Integer.class, eventId);
+        return count != null && count > 0;
+    }
+
+    @Override
+    public int getRegisteredCount(long eventId) {
+        Integer count = jdbcTemplate.queryForObject(REGISTERED_COUNT_SQL, Integer.class, eventId);
+        return count != null ? count : 0;
+    }
+
+    @Override
+    public int reservePlaces(long eventId, int places) {
+        while (true) {
+            List<Integer> free = jdbcTemplate.queryForList(FREE_PLACES_SQL, Integer.class, eventId);
+            int reserved = free.isEmpty() || free.get(0) == null ? 0 : Math.min(places, free.get(0));
+            if (reserved <= 0) {
+                return 0;
+            }
+            // Read and write are separate statements, so another reservation may come in between; then read again.
+            if (jdbcTemplate.update(RESERVE_PLACES_SQL, reserved, eventId, reserved) == 1) {
+                return reserved;
+            }
+        }
+    }
+
+    @Override
+    public boolean applyReservedPlaces(long eventId, long taken, long released) {
+        return jdbcTemplate.update(APPLY_RESERVED_PLACES_SQL, taken, taken + released, eventId) == 1;
+    }
+
+    @Override
+    public int reconcileReservedPlaces() {
+        return jdbcTemplate.update(RECONCILE_SQL);
+    }
+}
@@ -1,10 +1,52 @@
 package ru.practicum.workshop.eventservice.repository;
 
 import ru.practicum.workshop.eventservice.model.Event;
+import ru.practicum.workshop.eventservice.model.EventListItem;
+import ru.practicum.workshop.eventservice.model.EventVersion;
 import ru.practicum.workshop.eventservice.params.EventSearchParam;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface CustomizedEventRepository {
     List<Event> getEvents(EventSearchParam param);
+
+    /**
+     * Same page as {@link #getEvents}, selected as read-only {@link EventListItem} rows; {@code description} is left
+     * out when {@link EventSearchParam#isSummary()} is set.
+     */
+    List<EventListItem> getEventList(EventSearchParam param);
+
+    /**
+     * All events matching the filters of {@code param} in id order, ignoring its paging, read through a database
+     * cursor {@link CustomizedEventRepositoryImpl#EXPORT_FETCH_SIZE} rows at a time. Must be consumed and closed
+     * inside a transaction.
+     */
+    Stream<EventListItem> streamEventList(EventSearchParam param);
+
+    /**
+     * Events with the given ids, in the order of {@code ids}; unknown ids are skipped. Events already in the
+     * persistence context or the second-level cache are taken from there, the rest are loaded in one query.
+     */
+    List<Event> getEventsByIds(List<Long> ids);
+
+    /**
+     * Version and owner of the event. Taken from the second-level cache when the event is there, otherwise read by a
+     * query selecting only those columns.
+     */
+    Optional<EventVersion> findVersionById(Long id);
+
+    /**
+     * Makes the current transaction increment the version of {@code event} on commit even if the event itself is not
+     * changed, failing if someone else has changed it meanwhile.
+     */
+    void incrementVersion(Event event);
+
+    /**
+     * Switches the registration of the event to {@code CLOSED} as a regular versioned update of the entity, refreshed
+     * from the database first rather than trusted from the second-level cache. The update is flushed, so the
+     * returned event carries its new version.
+     */
+    Event closeRegistration(Long eventId);
 }
@@ -1,37 +1,172 @@
 package ru.practicum.workshop.eventservice.repository;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.query.QueryUtils;
+import ru.practicum.workshop.eventservice.config.EventSearchFunctionContributor;
 import ru.practicum.workshop.eventservice.model.Event;
+import ru.practicum.workshop.eventservice.model.EventListItem;
+import ru.practicum.workshop.eventservice.model.EventRegistrationStatus;
+import ru.practicum.workshop.eventservice.model.EventVersion;
+import ru.practicum.workshop.eventservice.params.EventCursor;
 import ru.practicum.workshop.eventservice.params.EventSearchParam;
+import ru.practicum.workshop.eventservice.params.EventSort;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public class CustomizedEventRepositoryImpl implements CustomizedEventRepository {
+    public static final String EVENT_FEED_CACHE_REGION = "eventFeed";
+    public static final int EXPORT_FETCH_SIZE = 1000;
+
     @PersistenceContext
     private EntityManager entityManager;
-    private final Sort defaultSort = Sort.by(Sort.Direction.DESC, "createdDateTime");
+    private final Sort defaultSort = EventSort.CREATED.toSort();
+    private final Sort tiebreakSort = Sort.by(Sort.Direction.DESC, "id");
 
     @Override
     public List<Event> getEvents(EventSearchParam param) {
         CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
         CriteriaQuery<Event> query = criteriaBuilder.createQuery(Event.class);
         Root<Event> root = query.from(Event.class);
-        Pageable pageable = param.getPageable();
-        query.select(root)
-                .where(buildPredicate(criteriaBuilder, root, param))
-                .orderBy(QueryUtils.toOrders(pageable.getSortOr(defaultSort), root, criteriaBuilder));
-        int pageNumber = (pageable.getPageNumber() == 0) ? 0 : pageable.getPageSize() * pageable.getPageNumber();
+        query.select(root);
+        return getPage(query, root, param);
+    }
+
+    @Override
+    public List<EventListItem> getEventList(EventSearchParam param) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventListItem> query = criteriaBuilder.createQuery(EventListItem.class);
+        Root<Event> root = query.from(Event.class);
+        selectListItem(criteriaBuilder, query, root, param);
+        return getPage(query, root, param);
+    }
 
+    @Override
+    public Stream<EventListItem> streamEventList(EventSearchParam param) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventListItem> query = criteriaBuilder.createQuery(EventListItem.class);
+        Root<Event> root = query.from(Event.class);
+        selectListItem(criteriaBuilder, query, root, param);
+        query.where(buildPredicate(criteriaBuilder, root, param))
+                .orderBy(criteriaBuilder.asc(root.get("id")));
+
+        // Rows are projections, so nothing accumulates in the persistence context however many are read.
         return entityManager.createQuery(query)
-                .setFirstResult(pageNumber)
-                .setMaxResults(pageable.getPageSize())
-                .getResultList();
+                .setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public List<Event> getEventsByIds(List<Long> ids) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Event.class)
+                .multiLoad(ids)
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public Optional<EventVersion> findVersionById(Long id) {
+        if (entityManager.getEntityManagerFactory().getCache().contains(Event.class, id)) {
+            // A cache hit costs no statement at all, so don't put a query in front of it.
+            Event event = entityManager.find(Event.class, id);
+            return Optional.ofNullable(event)
+                    .map(e -> new EventVersion(e.getId(), e.getOwnerId(), e.getVersion()));
+        }
+        return entityManager.createQuery(
+                        "select new ru.practicum.workshop.eventservice.model.EventVersion(e.id, e.ownerId, e.version) "
+                                + "from Event e where e.id = :id", EventVersion.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
+    }
+
+    @Override
+    public void incrementVersion(Event event) {
+        entityManager.lock(event, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+    }
+
+    @Override
+    public Event closeRegistration(Long eventId) {
+        Event event = entityManager.find(Event.class, eventId);
+        // The second-level cache may lag behind the row, and a stale version would fail the update.
+        entityManager.refresh(event);
+        event.setRegistrationStatus(EventRegistrationStatus.CLOSED);
+        entityManager.flush();
+        return event;
+    }
+
+    private void selectListItem(CriteriaBuilder criteriaBuilder, CriteriaQuery<EventListItem> query,
+                                Root<Event> root, EventSearchParam param) {
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get("id"));
+        selections.add(root.get("name"));
+        if (!param.isSummary()) {
+            selections.add(root.get("description"));
+        }
+        selections.add(root.get("createdDateTime"));
+        selections.add(root.get("startDateTime"));
+        selections.add(root.get("endDateTime"));
+        selections.add(root.get("location"));
+        selections.add(root.get("ownerId"));
+        selections.add(root.get("registrationStatus"));
+        selections.add(root.get("isLimited"));
+        selections.add(root.get("participantLimit"));
+        query.select(criteriaBuilder.construct(EventListItem.class, selections.toArray(new Selection<?>[0])));
+    }
+
+    private <T> List<T> getPage(CriteriaQuery<T> query, Root<Event> root, EventSearchParam param) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        Pageable pageable = param.getPageable();
+        query.where(buildPredicate(criteriaBuilder, root, param))
+                .orderBy(buildOrders(criteriaBuilder, root, param));
+
+        TypedQuery<T> typedQuery = entityManager.createQuery(query)
+                .setMaxResults(pageable.getPageSize());
+        if (param.getCursor() == null) {
+            int pageNumber = (pageable.getPageNumber() == 0) ? 0 : pageable.getPageSize() * pageable.getPageNumber();
+            typedQuery.setFirstResult(pageNumber);
+        }
+        if (param.getCursor() == null && param.getText() == null && pageable.getPageNumber() == 0) {
+            // First pages are by far the most requested; any write to events invalidates the cached results.
+            typedQuery.setHint(HibernateHints.HINT_CACHEABLE, true)
+                    .setHint(HibernateHints.HINT_CACHE_REGION, EVENT_FEED_CACHE_REGION);
+        }
+        return typedQuery.getResultList();
+    }
+
+    private List<Order> buildOrders(CriteriaBuilder cb, Root<Event> root, EventSearchParam param) {
+        List<Order> orders = new ArrayList<>();
+        if (param.getText() != null) {
+            // Best matches first; the feed order breaks ties.
+            orders.add(cb.desc(searchFunction(cb, root, EventSearchFunctionContributor.RANK, Double.class,
+                    param.getText())));
+        }
+        orders.addAll(QueryUtils.toOrders(buildSort(param), root, cb));
+        return orders;
+    }
+
+    private Sort buildSort(EventSearchParam param) {
+        if (param.getCursor() != null) {
+            // The seek predicate only makes sense for the order the cursor was taken in.
+            return param.getCursor().getSort().toSort();
+        }
+        Sort sort = param.getPageable().getSortOr(defaultSort);
+        return sort.getOrderFor("id") == null ? sort.and(tiebreakSort) : sort;
     }
 
     private Predicate[] buildPredicate(CriteriaBuilder cb,
@@ -45,7 +180,65 @@ public class CustomizedEventRepositoryImpl implements CustomizedEventRepository
         if (param.getOwnerId() != null) {
             predicates.add(cb.equal(root.get("ownerId"), param.getOwnerId()));
         }
+        if (param.getCursor() != null) {
+            predicates.add(buildSeekPredicate(cb, root, param.getCursor()));
+        }
+        if (param.getFrom() != null || param.getTo() != null) {
+            predicates.add(buildPeriodPredicate(cb, root, param.getFrom(), param.getTo()));
+        }
+        if (param.getText() != null) {
+            predicates.add(cb.isTrue(searchFunction(cb, root, EventSearchFunctionContributor.MATCHES, Boolean.class,
+                    param.getText())));
+        }
 
         return predicates.toArray(new Predicate[0]);
     }
+
+    private <T> Expression<T> searchFunction(CriteriaBuilder cb, Root<Event> root, String function, Class<T> type,
+                                             String text) {
+        return cb.function(function, type,
+                root.get("name"), root.get("location"), root.get("description"), cb.literal(text));
+    }
+
+    /**
+     * Events that overlap the half-open period {@code [from, to)}. With both bounds this is the
+     * {@link EventSearchFunctionContributor#PERIOD_OVERLAPS} function (a GiST range index on PostgreSQL); with one
+     * bound it is a plain comparison on the btree index of the matching column.
+     */
+    private Predicate buildPeriodPredicate(CriteriaBuilder cb, Root<Event> root, LocalDateTime from, LocalDateTime to) {
+        Path<LocalDateTime> startDateTime = root.get("startDateTime");
+        Path<LocalDateTime> endDateTime = root.get("endDateTime");
+        if (from == null) {
+            return cb.lessThan(startDateTime, to);
+        }
+        if (to == null) {
+            return cb.greaterThan(endDateTime, from);
+        }
+        return cb.isTrue(cb.function(EventSearchFunctionContributor.PERIOD_OVERLAPS, Boolean.class,
+                startDateTime, endDateTime, cb.literal(from), cb.literal(to)));
+    }
+
+    /**
+     * Rows strictly after the cursor in the cursor's order, e.g. for (createdDateTime DESC, id DESC)
+     * {@code createdDateTime <= ? AND (createdDateTime < ? OR (createdDateTime = ? AND id < ?))}. The leading bound
+     * is redundant logically but lets the database start an index range scan at the cursor instead of filtering
+     * from the top of the feed.
+     */
+    private Predicate buildSeekPredicate(CriteriaBuilder cb, Root<Event> root, EventCursor cursor) {
+        Path<LocalDateTime> sortKey = root.get(cursor.getSort().getProperty());
+        Path<Long> id = root.get("id");
+        LocalDateTime value = cursor.getValue();
+        if (cursor.getSort().getDirection().isAscending()) {
+            return cb.and(
+                    cb.greaterThanOrEqualTo(sortKey, value),
+                    cb.or(
+                            cb.greaterThan(sortKey, value),
+                            cb.and(cb.equal(sortKey, value), cb.greaterThan(id, cursor.getId()))));
+        }
+        return cb.and(
+                cb.lessThanOrEqualTo(sortKey, value),
+                cb.or(
+                        cb.lessThan(sortKey, value),
+                        cb.and(cb.equal(sortKey, value), cb.lessThan(id, cursor.getId()))));
+    }
 }
@@ -0,0 +1,14 @@
+package ru.practicum.workshop.eventservice.repository;
+
+import ru.practicum.workshop.eventservice.model.OrgTeamMember;
+
+import java.util.List;
+
+public interface CustomizedOrgTeamMemberRepository {
+    /**
+     * Inserts all members in one JDBC batch, skipping those whose (event, user) pair already exists.
+     *
+     * @return for every member, in order, whether it was inserted
+     */
+    List<Boolean> insertAllIfAbsent(List<OrgTeamMember> members);
+}
@@ -0,0 +1,54 @@
+package ru.practicum.workshop.eventservice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.workshop.eventservice.model.OrgTeamMember;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class CustomizedOrgTeamMemberRepositoryImpl implements CustomizedOrgTeamMemberRepository {
+    // A pair that already exists reports 0 rows instead of failing the whole batch on
+    // organizing_team_members_unique_ids. On PostgreSQL MERGE still raises unique_violation when a concurrent
+    // transaction inserts the same pair, so it gets ON CONFLICT, which waits for that transaction and skips the row.
+    private static final String POSTGRESQL_INSERT_IF_ABSENT_SQL = "INSERT INTO organizing_team_members "
+            + "(event_id, user_id, role) VALUES (?, ?, ?) "
+            + "ON CONFLICT (event_id, user_id) DO NOTHING";
+    // H2, which only the tests run on, has no ON CONFLICT.
+    private static final String H2_INSERT_IF_ABSENT_SQL = "MERGE INTO organizing_team_members t "
+            + "USING (SELECT CAST(? AS BIGINT) AS event_id, CAST(? AS BIGINT) AS user_id, "
+            + "CAST(? AS VARCHAR(16)) AS role) s "
+            + "ON t.event_id = s.event_id AND t.user_id = s.user_id "
+            + "WHEN NOT MATCHED THEN INSERT (event_id, user_id, role) VALUES (s.event_id, s.user_id, s.role)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String insertIfAbsentSql;
+
+    @Override
+    public List<Boolean> insertAllIfAbsent(List<OrgTeamMember> members) {
+        if (members.isEmpty()) {
+            return List.of();
+        }
+        List<Object[]> batch = new ArrayList<>(members.size());
+        for (OrgTeamMember member : members) {
+            batch.add(new Object[]{member.getEvent().getId(), member.getUserId(), member.getRole().name()});
+        }
+        return Arrays.stream(jdbcTemplate.batchUpdate(insertIfAbsentSql(), batch))
+                .mapToObj(count -> count != 0)
+                .toList();
+    }
+
+    private String insertIfAbsentSql() {
+        String sql = insertIfAbsentSql;
+        if (sql == null) {
+            String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            sql = "PostgreSQL".equalsIgnoreCase(database) ? POSTGRESQL_INSERT_IF_ABSENT_SQL : H2_INSERT_IF_ABSENT_SQL;
+            insertIfAbsentSql = sql;
+        }
+        return sql;
+    }
+}
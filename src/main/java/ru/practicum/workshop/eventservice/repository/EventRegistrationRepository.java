@@ -0,0 +1,12 @@
+package ru.practicum.workshop.eventservice.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import ru.practicum.workshop.eventservice.model.EventRegistration;
+
+public interface EventRegistrationRepository extends JpaRepository<EventRegistration, Long>,
+        CustomizedEventRegistrationRepository {
+
+    long deleteByEventIdAndUserId(long eventId, long userId);
+
+    long countByEventId(long eventId);
+}
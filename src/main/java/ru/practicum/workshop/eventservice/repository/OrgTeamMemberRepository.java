@@ -1,17 +1,29 @@
 package ru.practicum.workshop.eventservice.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.workshop.eventservice.dto.PublicOrgTeamMemberDto;
 import ru.practicum.workshop.eventservice.model.OrgTeamMember;
 
 import java.util.List;
 import java.util.Optional;
 
-public interface OrgTeamMemberRepository extends JpaRepository<OrgTeamMember, Long> {
+public interface OrgTeamMemberRepository extends JpaRepository<OrgTeamMember, Long>,
+        CustomizedOrgTeamMemberRepository {
 
     Optional<OrgTeamMember> findByEventIdAndUserId(long eventId, long userId);
 
     Optional<OrgTeamMember> findByEventIdAndUserIdAndRole(long eventId, long userId, OrgTeamMember.Role role);
 
-    List<OrgTeamMember> findAllByEventId(long eventId);
+    /**
+     * The team of the event in one statement, in the order members were added. Empty when there is no such event;
+     * a single row with {@code null} fields when the event has no team.
+     */
+    @Query("select new ru.practicum.workshop.eventservice.dto.PublicOrgTeamMemberDto(m.userId, m.role) "
+            + "from Event e left join OrgTeamMember m on m.event = e "
+            + "where e.id = :eventId "
+            + "order by m.id")
+    List<PublicOrgTeamMemberDto> findTeamByEventId(@Param("eventId") long eventId);
 
 }
@@ -0,0 +1,19 @@
+package ru.practicum.workshop.eventservice.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import ru.practicum.workshop.eventservice.model.OutboxRecord;
+
+import java.util.List;
+
+public interface OutboxRecordRepository extends JpaRepository<OutboxRecord, Long> {
+
+    /**
+     * Oldest records, locked until the end of the transaction so that relays of other instances wait for them to be
+     * sent and deleted instead of sending them again.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<OutboxRecord> findByOrderByIdAsc(Limit limit);
+}
@@ -0,0 +1,18 @@
+package ru.practicum.workshop.eventservice.service;
+
+import ru.practicum.workshop.eventservice.dto.EventRegistrationDto;
+
+public interface EventRegistrationService {
+
+    /**
+     * Registers the requester for the event. Registration of a limited event is closed by the registration that
+     * takes its last place.
+     */
+    EventRegistrationDto register(Long eventId, Long requesterId);
+
+    /**
+     * Cancels the registration of the requester and gives the place back. Registration closed because the event
+     * was full stays closed until the owner opens it again.
+     */
+    void cancelRegistration(Long eventId, Long requesterId);
+}
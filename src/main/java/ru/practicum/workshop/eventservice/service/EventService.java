@@ -1,22 +1,61 @@
 package ru.practicum.workshop.eventservice.service;
 
+import ru.practicum.workshop.eventservice.dto.EventLookupResponse;
+import ru.practicum.workshop.eventservice.dto.EventPage;
 import ru.practicum.workshop.eventservice.dto.EventRequest;
 import ru.practicum.workshop.eventservice.dto.EventResponse;
+import ru.practicum.workshop.eventservice.dto.EventUpdateResult;
 import ru.practicum.workshop.eventservice.model.Event;
+import ru.practicum.workshop.eventservice.model.EventVersion;
 import ru.practicum.workshop.eventservice.params.EventSearchParam;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface EventService {
     EventResponse createEvent(EventRequest request, Long requesterId);
 
-    EventResponse updateEvent(Long id, EventRequest request, Long requesterId);
+    default EventResponse updateEvent(Long id, EventRequest request, Long requesterId) {
+        return updateEvent(id, request, requesterId, null).getEvent();
+    }
+
+    /**
+     * Updates the event if its {@link Event#getVersion()} is still {@code expectedVersion}, or unconditionally when
+     * {@code expectedVersion} is {@code null}, and returns it with the version it was written with.
+     */
+    EventUpdateResult updateEvent(Long id, EventRequest request, Long requesterId, Long expectedVersion);
 
     EventResponse getEvent(Long id, Long requesterId);
 
+    /**
+     * Current version of the event, for conditional requests; cheaper than {@link #getEvent}.
+     */
+    EventVersion getEventVersion(Long id);
+
+    /**
+     * {@link #getEvent} for many ids at once: each event is returned as {@code getEvent} would return it to
+     * {@code requesterId}, and ids with no event are reported in {@link EventLookupResponse#getMissingIds()}.
+     */
+    EventLookupResponse lookupEvents(List<Long> ids, Long requesterId);
+
     List<EventResponse> getEvents(EventSearchParam param);
 
+    EventPage getEventPage(EventSearchParam param);
+
+    /**
+     * Writes every event matching the filters of {@code param} to {@code outputStream} as NDJSON (one public
+     * {@link EventResponse} per line), streaming rows from the database instead of loading them first.
+     */
+    void exportEvents(EventSearchParam param, OutputStream outputStream) throws IOException;
+
     void deleteEvent(Long id, Long requesterId);
 
     Event getEventInternal(Long eventId);
+
+    /**
+     * Bumps the version of {@code event} on commit of the current transaction, for changes to data that is versioned
+     * together with the event, such as its organizing team.
+     */
+    void incrementVersion(Event event);
 }
@@ -0,0 +1,12 @@
+package ru.practicum.workshop.eventservice.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface EventStreamService {
+
+    /**
+     * Subscribes to committed changes of events, optionally only of one event and/or of the events of one owner.
+     * A subscriber that cannot keep up loses the oldest changes rather than holding them in memory.
+     */
+    SseEmitter subscribe(Long eventId, Long ownerId);
+}
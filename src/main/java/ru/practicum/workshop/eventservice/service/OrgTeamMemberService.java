@@ -1,6 +1,7 @@
 package ru.practicum.workshop.eventservice.service;
 
 import ru.practicum.workshop.eventservice.dto.NewOrgTeamMemberDto;
+import ru.practicum.workshop.eventservice.dto.OrgTeamMemberImportResultDto;
 import ru.practicum.workshop.eventservice.dto.PublicOrgTeamMemberDto;
 import ru.practicum.workshop.eventservice.dto.UpdateOrgTeamMemberDto;
 
@@ -10,9 +11,17 @@ public interface OrgTeamMemberService {
 
     PublicOrgTeamMemberDto addTeamMember(Long requesterId, NewOrgTeamMemberDto newOrgTeamMemberDto);
 
+    List<OrgTeamMemberImportResultDto> addTeamMembers(Long requesterId, Long eventId,
+                                                      List<NewOrgTeamMemberDto> newOrgTeamMemberDtos);
+
     PublicOrgTeamMemberDto updateTeamMemberData(Long requesterId, UpdateOrgTeamMemberDto updateOrgTeamMemberDto);
 
     void deleteTeamMember(Long requesterId, Long eventId, Long userId);
 
     List<PublicOrgTeamMemberDto> getTeamMembers(Long eventId);
+
+    /**
+     * Version of the organizing team of the event: the event version, which every team change increments.
+     */
+    Long getTeamVersion(Long eventId);
 }
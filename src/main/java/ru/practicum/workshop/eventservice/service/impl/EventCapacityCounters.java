@@ -0,0 +1,197 @@
+package ru.practicum.workshop.eventservice.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import ru.practicum.workshop.eventservice.config.RegistrationCounterProperties;
+import ru.practicum.workshop.eventservice.repository.EventRegistrationRepository;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory places of limited events for {@code event.registration.counters.enabled}. Places are reserved in
+ * {@code events.reserved_count} in blocks of {@code block-size} and handed out here by a compare-and-set, so
+ * concurrent registrations for one event meet on its row once per block rather than once per registration. Taken
+ * places are summed up in a {@link LongAdder} and written back to {@code events.registered_count} every
+ * {@code flush-interval}; whatever an instance did not write back before it stopped is recounted on the next startup.
+ * <p>
+ * Reserved places are owned by this instance, which is why the mode is for a single instance only: another one
+ * starting up would reconcile them away.
+ */
+@Component
+@Slf4j
+public class EventCapacityCounters {
+    private final EventRegistrationRepository registrationRepository;
+    private final TaskScheduler taskScheduler;
+    private final RegistrationCounterProperties properties;
+
+    private final ConcurrentMap<Long, Counter> counters = new ConcurrentHashMap<>();
+    private ScheduledFuture<?> flushTask;
+
+    public EventCapacityCounters(EventRegistrationRepository registrationRepository, TaskScheduler taskScheduler,
+                                 RegistrationCounterProperties properties) {
+        this.registrationRepository = registrationRepository;
+        this.taskScheduler = taskScheduler;
+        this.properties = properties;
+    }
+
+    private static final class Counter {
+        /**
+         * Reserved places not handed out yet.
+         */
+        private final AtomicInteger available = new AtomicInteger();
+        /**
+         * Places handed out since the last write-back, less the ones given back by cancellations.
+         */
+        private final LongAdder taken = new LongAdder();
+        /**
+         * Reservations and write-backs of one event never overlap; taking a place does not lock.
+         */
+        private final ReentrantLock lock = new ReentrantLock();
+    }
+
+    @PostConstruct
+    void start() {
+        int reconciled = registrationRepository.reconcileReservedPlaces();
+        if (reconciled > 0) {
+            log.info("Recounted registered places of {} events with reservations left from the previous run",
+                    reconciled);
+        }
+        if (properties.isEnabled()) {
+            flushTask = taskScheduler.scheduleWithFixedDelay(this::flushAll, properties.getFlushInterval());
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+        }
+        counters.forEach((eventId, counter) -> writeBack(eventId, counter, true));
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Takes a place at a limited event, reserving a new block when this instance has none left. The place must then
+     * be either {@link #confirmPlace confirmed} or {@link #returnPlace returned}.
+     *
+     * @return whether a place was taken; {@code false} when the event has no places left or its registration is not
+     * open
+     */
+    public boolean takePlace(long eventId) {
+        Counter counter = counters.computeIfAbsent(eventId, id -> new Counter());
+        while (true) {
+            if (tryTake(counter)) {
+                return true;
+            }
+            counter.lock.lock();
+            try {
+                if (counter.available.get() == 0) {
+                    int reserved = registrationRepository.reservePlaces(eventId, properties.getBlockSize());
+                    if (reserved == 0) {
+                        return false;
+                    }
+                    counter.available.addAndGet(reserved);
+                }
+            } finally {
+                counter.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Counts a place taken by {@link #takePlace} as registered.
+     *
+     * @return whether it was the last place this instance had reserved
+     */
+    public boolean confirmPlace(long eventId) {
+        Counter counter = counters.computeIfAbsent(eventId, id -> new Counter());
+        counter.taken.increment();
+        return counter.available.get() == 0;
+    }
+
+    /**
+     * Gives back a place taken by {@link #takePlace} whose registration did not happen.
+     */
+    public void returnPlace(long eventId) {
+        counters.computeIfAbsent(eventId, id -> new Counter()).available.incrementAndGet();
+    }
+
+    /**
+     * Gives back the place of a cancelled registration. It stays reserved by this instance for the next one.
+     */
+    public void releasePlace(long eventId) {
+        Counter counter = counters.computeIfAbsent(eventId, id -> new Counter());
+        counter.taken.decrement();
+        counter.available.incrementAndGet();
+    }
+
+    /**
+     * Writes back the places taken at the event right away, so that {@code events.registered_count} is exact.
+     */
+    public void flush(long eventId) {
+        Counter counter = counters.get(eventId);
+        if (counter != null) {
+            writeBack(eventId, counter, false);
+        }
+    }
+
+    /**
+     * Writes back the places taken at the event and gives back the ones this instance has reserved, so that
+     * {@code events.registered_count} is exact and no places are held for the event.
+     */
+    public void release(long eventId) {
+        Counter counter = counters.get(eventId);
+        if (counter != null) {
+            writeBack(eventId, counter, true);
+        }
+    }
+
+    void flushAll() {
+        counters.forEach((eventId, counter) -> writeBack(eventId, counter, false));
+    }
+
+    private static boolean tryTake(Counter counter) {
+        int available = counter.available.get();
+        while (available > 0) {
+            if (counter.available.compareAndSet(available, available - 1)) {
+                return true;
+            }
+            available = counter.available.get();
+        }
+        return false;
+    }
+
+    private void writeBack(long eventId, Counter counter, boolean release) {
+        counter.lock.lock();
+        try {
+            long taken = counter.taken.sumThenReset();
+            int released = release ? counter.available.getAndSet(0) : 0;
+            if (taken == 0 && released == 0) {
+                return;
+            }
+            try {
+                if (!registrationRepository.applyReservedPlaces(eventId, taken, released)) {
+                    counters.remove(eventId);
+                }
+            } catch (RuntimeException e) {
+                // Kept for the next write-back; until then the places stay reserved, so nothing is oversold.
+                counter.taken.add(taken);
+                counter.available.addAndGet(released);
+                log.warn("Failed to write back registered places of event(id={})", eventId, e);
+            }
+        } finally {
+            counter.lock.unlock();
+        }
+    }
+}
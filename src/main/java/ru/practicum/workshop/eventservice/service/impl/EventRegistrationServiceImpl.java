@@ -0,0 +1,154 @@
+package ru.practicum.workshop.eventservice.service.impl;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.workshop.eventservice.client.CachedUserClient;
+import ru.practicum.workshop.eventservice.dto.EventRegistrationDto;
+import ru.practicum.workshop.eventservice.error.ConflictException;
+import ru.practicum.workshop.eventservice.error.ForbiddenException;
+import ru.practicum.workshop.eventservice.error.NotFoundException;
+import ru.practicum.workshop.eventservice.mapper.EventRegistrationMapper;
+import ru.practicum.workshop.eventservice.model.Event;
+import ru.practicum.workshop.eventservice.model.EventChangeType;
+import ru.practicum.workshop.eventservice.model.EventRegistration;
+import ru.practicum.workshop.eventservice.model.EventRegistrationStatus;
+import ru.practicum.workshop.eventservice.outbox.EventChangeOutbox;
+import ru.practicum.workshop.eventservice.repository.EventRegistrationRepository;
+import ru.practicum.workshop.eventservice.repository.EventRepository;
+import ru.practicum.workshop.eventservice.service.EventRegistrationService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EventRegistrationServiceImpl implements EventRegistrationService {
+    private final EventRepository eventRepository;
+    private final EventRegistrationRepository registrationRepository;
+    private final EventRegistrationMapper registrationMapper;
+    private final CachedUserClient userClient;
+    private final EventCapacityCounters capacityCounters;
+    private final TransactionTemplate transactionTemplate;
+    private final EventChangeOutbox changeOutbox;
+
+    /**
+     * Runs its checks outside of a transaction, so no connection is held while user-service answers. With in-memory
+     * counters a place at a limited event is taken before the registration is saved and given back if saving fails.
+     */
+    @Override
+    public EventRegistrationDto register(Long eventId, Long requesterId) {
+        // Cheap checks first, from the second-level cache; taking a place is what actually decides.
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new NotFoundException("Event not found"));
+        if (event.getRegistrationStatus() != EventRegistrationStatus.OPEN) {
+            throw new ConflictException(String.format("Registration for event(id=%d) is not open", eventId));
+        }
+        checkUserForbidden(requesterId);
+
+        EventRegistration registration = usesCounters(event)
+                ? registerWithCounters(eventId, requesterId)
+                : transactionTemplate.execute(status -> registerWithRowLock(eventId, requesterId));
+
+        log.info("User(id={}) registered for event(id={})", requesterId, eventId);
+        return registrationMapper.toDto(registration);
+    }
+
+    @Override
+    public void cancelRegistration(Long eventId, Long requesterId) {
+        boolean countersInUse = eventRepository.findById(eventId)
+                .map(this::usesCounters)
+                .orElse(false);
+        transactionTemplate.executeWithoutResult(status -> {
+            if (registrationRepository.deleteByEventIdAndUserId(eventId, requesterId) == 0) {
+                throw new NotFoundException(String.format("User(id=%d) is not registered for event(id=%d)",
+                        requesterId, eventId));
+            }
+            if (!countersInUse) {
+                registrationRepository.releasePlace(eventId);
+            }
+        });
+        if (countersInUse) {
+            capacityCounters.releasePlace(eventId);
+        }
+        log.info("User(id={}) cancelled registration for event(id={})", requesterId, eventId);
+    }
+
+    private boolean usesCounters(Event event) {
+        return capacityCounters.isEnabled() && event.isLimited();
+    }
+
+    private EventRegistration registerWithRowLock(Long eventId, Long requesterId) {
+        // Saved before a place is taken: a repeated registration fails on event_registrations_unique_ids without
+        // ever locking the events row.
+        EventRegistration registration = saveRegistration(eventId, requesterId);
+        if (!registrationRepository.takePlace(eventId)) {
+            throw noPlacesLeft(eventId);
+        }
+        if (registrationRepository.isFull(eventId)) {
+            closeRegistration(eventId);
+        }
+        return registration;
+    }
+
+    private EventRegistration registerWithCounters(Long eventId, Long requesterId) {
+        if (!capacityCounters.takePlace(eventId)) {
+            throw noPlacesLeft(eventId);
+        }
+        EventRegistration registration;
+        try {
+            registration = transactionTemplate.execute(status -> saveRegistration(eventId, requesterId));
+        } catch (RuntimeException e) {
+            capacityCounters.returnPlace(eventId);
+            throw e;
+        }
+        if (capacityCounters.confirmPlace(eventId)) {
+            // Out of reserved places: either the next block gets reserved or this was the last place of the event.
+            capacityCounters.flush(eventId);
+            closeIfFull(eventId);
+        }
+        return registration;
+    }
+
+    private void closeIfFull(Long eventId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (registrationRepository.isFull(eventId)) {
+                    closeRegistration(eventId);
+                }
+            });
+        } catch (OptimisticLockingFailureException e) {
+            log.debug("Registration for event(id={}) has been closed concurrently", eventId);
+        }
+    }
+
+    private void closeRegistration(Long eventId) {
+        Event event = eventRepository.closeRegistration(eventId);
+        changeOutbox.eventChanged(EventChangeType.EVENT_UPDATED, event);
+        log.info("Event(id={}) is full, registration closed", eventId);
+    }
+
+    private EventRegistration saveRegistration(Long eventId, Long requesterId) {
+        return registrationRepository.saveAndFlush(EventRegistration.builder()
+                .eventId(eventId)
+                .userId(requesterId)
+                .registeredDateTime(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))
+                .build());
+    }
+
+    private static ConflictException noPlacesLeft(Long eventId) {
+        return new ConflictException(String.format("No places left at event(id=%d)", eventId));
+    }
+
+    private void checkUserForbidden(Long userId) {
+        try {
+            userClient.getUserById(userId);
+        } catch (EntityNotFoundException ex) {
+            throw new ForbiddenException("You can't register for an event. Please log in to your account");
+        }
+    }
+}
@@ -1,22 +1,60 @@
 package ru.practicum.workshop.eventservice.service.impl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.workshop.eventservice.client.UserClient;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.workshop.eventservice.client.CachedUserClient;
+import ru.practicum.workshop.eventservice.client.dto.UserDto;
+import ru.practicum.workshop.eventservice.config.EventCreationProperties;
+import ru.practicum.workshop.eventservice.config.EventUpdateProperties;
+import ru.practicum.workshop.eventservice.dto.EventLookupResponse;
+import ru.practicum.workshop.eventservice.dto.EventPage;
 import ru.practicum.workshop.eventservice.dto.EventRequest;
 import ru.practicum.workshop.eventservice.dto.EventResponse;
+import ru.practicum.workshop.eventservice.dto.EventUpdateResult;
+import ru.practicum.workshop.eventservice.error.ConflictException;
 import ru.practicum.workshop.eventservice.error.ForbiddenException;
 import ru.practicum.workshop.eventservice.error.NotFoundException;
+import ru.practicum.workshop.eventservice.error.PreconditionFailedException;
+import ru.practicum.workshop.eventservice.error.UserServiceException;
 import ru.practicum.workshop.eventservice.mapper.EventMapper;
+import ru.practicum.workshop.eventservice.outbox.EventChangeOutbox;
+import ru.practicum.workshop.eventservice.params.EventCursor;
+import ru.practicum.workshop.eventservice.params.EventCursorCodec;
 import ru.practicum.workshop.eventservice.params.EventSearchParam;
 import ru.practicum.workshop.eventservice.repository.EventRepository;
 import ru.practicum.workshop.eventservice.service.EventService;
 import ru.practicum.workshop.eventservice.model.Event;
+import ru.practicum.workshop.eventservice.model.EventChangeType;
+import ru.practicum.workshop.eventservice.model.EventListItem;
+import ru.practicum.workshop.eventservice.model.EventVersion;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -25,38 +63,137 @@ import java.util.List;
 public class EventServiceImpl implements EventService {
     private final EventRepository eventRepository;
     private final EventMapper eventMapper;
-    private final UserClient userClient;
+    private final CachedUserClient userClient;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final EventUpdateProperties updateProperties;
+    private final EventChangeOutbox changeOutbox;
+    private final EventCreationProperties creationProperties;
+    private final EventCursorCodec cursorCodec;
 
-    private void checkUserForbidden(Long userId) {
-        log.info("Getting user from User Service by id={}", userId);
+    private Semaphore waitingTransactions;
+
+    @PostConstruct
+    void init() {
+        waitingTransactions = new Semaphore(creationProperties.getMaxWaitingTransactions());
+    }
+
+    private void checkUserForbidden(CompletableFuture<UserDto> user) {
         try {
-            userClient.getUserById(userId);
-        } catch (EntityNotFoundException ex) {
-            throw new ForbiddenException("You can't create an event. Please log in to your account");
+            user.get(creationProperties.getUserLookupTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof EntityNotFoundException) {
+                throw new ForbiddenException("You can't create an event. Please log in to your account");
+            }
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new UserServiceException("User lookup failed", ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new UserServiceException("User Service did not answer in time", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new UserServiceException("Interrupted while waiting for User Service", ex);
         }
     }
 
+    /**
+     * The requester is looked up in the background while the event and its outbox record are written, and the lookup
+     * is awaited, for at most {@code event.create.user-lookup-timeout}, only after both INSERTs have run, so creation
+     * takes about the longer of the two rather than their sum. An unknown requester rolls the event back.
+     * <p>
+     * Waiting inside the transaction holds a database connection, so only {@code event.create.max-waiting-transactions}
+     * creations do it at once; the others wait for the lookup before the transaction starts, as without the overlap.
+     */
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public EventResponse createEvent(EventRequest request, Long requesterId) {
-        checkUserForbidden(requesterId);
+        log.info("Getting user from User Service by id={}", requesterId);
+        CompletableFuture<UserDto> requester = userClient.getUserByIdAsync(requesterId);
         Event event = eventMapper.toCreatingModel(request, requesterId);
-        Event savedEvent = eventRepository.save(event);
+        boolean waitsInTransaction = !requester.isDone() && waitingTransactions.tryAcquire();
+        if (!waitsInTransaction) {
+            checkUserForbidden(requester);
+        }
+        try {
+            return transactionTemplate.execute(status -> {
+                Event savedEvent = eventRepository.saveAndFlush(event);
+                changeOutbox.eventChanged(EventChangeType.EVENT_CREATED, savedEvent);
+                // Ids come from a pooled sequence, so nothing is written before a flush: without it both INSERTs
+                // would run at commit, after the wait.
+                eventRepository.flush();
+                checkUserForbidden(requester);
 
-        log.info("Event created: {}", event);
+                log.info("Event created: {}", event);
 
-        return eventMapper.toDtoWithCreateDateTime(savedEvent);
+                return eventMapper.toDtoWithCreateDateTime(savedEvent);
+            });
+        } finally {
+            if (waitsInTransaction) {
+                waitingTransactions.release();
+            }
+        }
     }
 
+    /**
+     * Each attempt runs in its own transaction. When a concurrent update wins the optimistic lock, the event is read
+     * again and the changes of {@code request} are merged into it if they touch other fields, up to
+     * {@link EventUpdateProperties#getMaxAttempts()} times; changes to the same fields are a {@link ConflictException}.
+     * A conditional update is never merged: once the event has changed, {@code expectedVersion} no longer holds, so a
+     * lost race is a {@link PreconditionFailedException}. Inside a caller's transaction there is nothing to retry in,
+     * so the first lost race is rethrown.
+     */
     @Override
-    public EventResponse updateEvent(Long id, EventRequest request, Long requesterId) {
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public EventUpdateResult updateEvent(Long id, EventRequest request, Long requesterId, Long expectedVersion) {
+        AtomicReference<EventRequest> base = new AtomicReference<>();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> applyUpdate(id, request, requesterId, expectedVersion,
+                        base));
+            } catch (OptimisticLockingFailureException e) {
+                if (expectedVersion != null) {
+                    throw new PreconditionFailedException("Event has been modified");
+                }
+                if (TransactionSynchronizationManager.isActualTransactionActive()
+                        || attempt >= updateProperties.getMaxAttempts()) {
+                    throw e;
+                }
+                log.info("Event(id={}) was modified concurrently, retrying update, attempt {}", id, attempt + 1);
+            }
+        }
+    }
+
+    /**
+     * Applies {@code request} to the event. The first attempt records the event as it was read in {@code base};
+     * later attempts, which only unconditional updates make, apply only what {@code request} changes relative to it.
+     */
+    private EventUpdateResult applyUpdate(Long id, EventRequest request, Long requesterId, Long expectedVersion,
+                                          AtomicReference<EventRequest> base) {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Event not found"));
         if (!event.getOwnerId().equals(requesterId)) {
             throw new ForbiddenException("Not authorized to update this event");
         }
-        Event newEvent = eventMapper.updateEvent(request, event);
-        Event updatedEvent = eventRepository.save(newEvent);
-        return eventMapper.toDtoWithCreateDateTime(updatedEvent);
+        if (expectedVersion != null && !expectedVersion.equals(event.getVersion())) {
+            throw new PreconditionFailedException("Event has been modified");
+        }
+        EventRequest changes = request;
+        if (base.get() == null) {
+            base.set(eventMapper.toRequest(event));
+        } else {
+            changes = EventUpdateMerge.merge(base.get(), request, eventMapper.toRequest(event));
+        }
+        // The participant limit checks run against the event as read by this attempt, and the version check on
+        // flush guarantees they still hold when it is written.
+        Long readVersion = event.getVersion();
+        Event newEvent = eventMapper.updateEvent(changes, event);
+        Event updatedEvent = eventRepository.saveAndFlush(newEvent);
+        if (!readVersion.equals(updatedEvent.getVersion())) {
+            changeOutbox.eventChanged(EventChangeType.EVENT_UPDATED, updatedEvent);
+        }
+        return new EventUpdateResult(eventMapper.toDtoWithCreateDateTime(updatedEvent),
+                new EventVersion(updatedEvent.getId(), updatedEvent.getOwnerId(), updatedEvent.getVersion()));
     }
 
     @Override
@@ -64,6 +201,36 @@ public class EventServiceImpl implements EventService {
     public EventResponse getEvent(Long id, Long requesterId) {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Event not found"));
+        return toDtoFor(event, requesterId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EventVersion getEventVersion(Long id) {
+        return eventRepository.findVersionById(id)
+                .orElseThrow(() -> new NotFoundException("Event not found"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EventLookupResponse lookupEvents(List<Long> ids, Long requesterId) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<Event> events = eventRepository.getEventsByIds(distinctIds);
+
+        Set<Long> foundIds = new HashSet<>();
+        List<EventResponse> responses = new ArrayList<>(events.size());
+        for (Event event : events) {
+            foundIds.add(event.getId());
+            responses.add(toDtoFor(event, requesterId));
+        }
+        List<Long> missingIds = distinctIds.stream()
+                .filter(id -> !foundIds.contains(id))
+                .toList();
+        log.info("Looked up {} events for user(id={}), {} missing", distinctIds.size(), requesterId, missingIds.size());
+        return new EventLookupResponse(responses, missingIds);
+    }
+
+    private EventResponse toDtoFor(Event event, Long requesterId) {
         if (!event.getOwnerId().equals(requesterId)) {
             return eventMapper.toDtoWithoutCreateDateTime(event);
         }
@@ -73,8 +240,41 @@ public class EventServiceImpl implements EventService {
     @Override
     @Transactional(readOnly = true)
     public List<EventResponse> getEvents(EventSearchParam param) {
-        List<Event> events = eventRepository.getEvents(param);
-        return eventMapper.toEventsDtoPublic(events);
+        List<EventListItem> events = eventRepository.getEventList(param);
+        return eventMapper.toListItemsDtoPublic(events);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EventPage getEventPage(EventSearchParam param) {
+        List<EventListItem> events = eventRepository.getEventList(param);
+        String nextCursor = null;
+        if (param.getText() == null && !events.isEmpty() && events.size() == param.getPageable().getPageSize()) {
+            nextCursor = cursorCodec.encode(EventCursor.of(events.get(events.size() - 1), param.getSort()));
+        }
+        return new EventPage(eventMapper.toListItemsDtoPublic(events), nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEvents(EventSearchParam param, OutputStream outputStream) throws IOException {
+        // Lines are terminated explicitly, so no separator between root values; the servlet response buffers and
+        // flushes by itself, so no flush per row either.
+        ObjectWriter writer = objectMapper.writerFor(EventResponse.class)
+                .withRootValueSeparator("")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long exported = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+             Stream<EventListItem> events = eventRepository.streamEventList(param)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            Iterator<EventListItem> iterator = events.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, eventMapper.toDtoPublic(iterator.next()));
+                generator.writeRaw('\n');
+                exported++;
+            }
+        }
+        log.info("Exported {} events, param={}", exported, param);
     }
 
     @Override
@@ -85,6 +285,7 @@ public class EventServiceImpl implements EventService {
             throw new ForbiddenException("Not authorized to delete this event");
         }
         eventRepository.delete(event);
+        changeOutbox.eventChanged(EventChangeType.EVENT_DELETED, event);
     }
 
     @Override
@@ -93,4 +294,9 @@ public class EventServiceImpl implements EventService {
         return eventRepository.findById(eventId).orElseThrow(
                 () -> new EntityNotFoundException(String.format("Event with id=%d not found.", eventId)));
     }
+
+    @Override
+    public void incrementVersion(Event event) {
+        eventRepository.incrementVersion(event);
+    }
 }
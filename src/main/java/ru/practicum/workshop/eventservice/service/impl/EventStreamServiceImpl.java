@@ -0,0 +1,256 @@
+package ru.practicum.workshop.eventservice.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.workshop.eventservice.config.EventStreamProperties;
+import ru.practicum.workshop.eventservice.dto.EventChangeNotification;
+import ru.practicum.workshop.eventservice.error.ServiceUnavailableException;
+import ru.practicum.workshop.eventservice.service.EventStreamService;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes committed changes to {@code GET /events/stream} subscribers. An idle subscriber costs its emitter and a
+ * small queue, not a thread: a change is serialized once, put into the queue of every matching subscriber, and the
+ * queue is written out by a virtual thread that lives only while it has something to send. A queue holds up to
+ * {@code buffer-size} changes; a subscriber too slow to take them loses the oldest ones, counted in
+ * {@code event.stream.dropped}.
+ * <p>
+ * Changes come from the transactions of this instance only, after they commit.
+ */
+@Service
+@Slf4j
+public class EventStreamServiceImpl implements EventStreamService {
+    private final EventStreamProperties properties;
+    private final ObjectMapper objectMapper;
+    private final TaskScheduler taskScheduler;
+    private final Counter droppedCounter;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Set<Subscriber> unfiltered = ConcurrentHashMap.newKeySet();
+    private final ConcurrentMap<Long, Set<Subscriber>> byEventId = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Set<Subscriber>> byOwnerId = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    private ScheduledFuture<?> heartbeatTask;
+
+    public EventStreamServiceImpl(EventStreamProperties properties, ObjectMapper objectMapper,
+                                  TaskScheduler taskScheduler, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.taskScheduler = taskScheduler;
+        this.droppedCounter = Counter.builder("event.stream.dropped")
+                .description("Changes dropped for subscribers that did not keep up")
+                .register(meterRegistry);
+        Gauge.builder("event.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Long eventId;
+        private final Long ownerId;
+        private final BlockingQueue<Set<DataWithMediaType>> queue;
+        /**
+         * Set while a virtual thread writes the queue out, so that there is at most one per subscriber.
+         */
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, Long eventId, Long ownerId) {
+            this.emitter = emitter;
+            this.eventId = eventId;
+            this.ownerId = ownerId;
+            this.queue = new ArrayBlockingQueue<>(properties.getBufferSize());
+        }
+
+        private boolean matches(EventChangeNotification notification) {
+            return (eventId == null || eventId.equals(notification.getEventId()))
+                    && (ownerId == null || ownerId.equals(notification.getOwnerId()));
+        }
+
+        private void offer(Set<DataWithMediaType> data) {
+            while (!queue.offer(data)) {
+                if (queue.poll() != null) {
+                    droppedCounter.increment();
+                }
+            }
+            scheduleSend();
+        }
+
+        private void scheduleSend() {
+            if (closed.get() || queue.isEmpty() || !sending.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sender.execute(this::send);
+            } catch (RejectedExecutionException e) {
+                sending.set(false);
+            }
+        }
+
+        private void send() {
+            try {
+                Set<DataWithMediaType> data;
+                while (!closed.get() && (data = queue.poll()) != null) {
+                    emitter.send(data);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the emitter timed out; its callbacks may not have run yet.
+                log.debug("Dropping stream subscriber: {}", e.getMessage());
+                unsubscribe(this);
+                emitter.completeWithError(e);
+            } finally {
+                sending.set(false);
+            }
+            // A change offered after the last poll but before the flag was cleared would wait for the next one.
+            scheduleSend();
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        heartbeatTask = taskScheduler.scheduleWithFixedDelay(this::heartbeat, properties.getHeartbeatInterval());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (heartbeatTask != null) {
+            heartbeatTask.cancel(false);
+        }
+        subscribers.forEach(subscriber -> {
+            unsubscribe(subscriber);
+            subscriber.emitter.complete();
+        });
+        sender.shutdownNow();
+    }
+
+    @Override
+    public SseEmitter subscribe(Long eventId, Long ownerId) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        subscribe(emitter, eventId, ownerId);
+        return emitter;
+    }
+
+    void subscribe(SseEmitter emitter, Long eventId, Long ownerId) {
+        if (subscriberCount.incrementAndGet() > properties.getMaxSubscribers()) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceUnavailableException("Too many event stream subscribers, try again later");
+        }
+        Subscriber subscriber = new Subscriber(emitter, eventId, ownerId);
+        subscribers.add(subscriber);
+        if (eventId != null) {
+            add(byEventId, eventId, subscriber);
+        } else if (ownerId != null) {
+            add(byOwnerId, ownerId, subscriber);
+        } else {
+            unfiltered.add(subscriber);
+        }
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        log.debug("Stream subscriber added: eventId={}, ownerId={}", eventId, ownerId);
+    }
+
+    int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @TransactionalEventListener
+    public void onEventChange(EventChangeNotification notification) {
+        Set<DataWithMediaType> data;
+        try {
+            data = SseEmitter.event()
+                    .id(String.valueOf(notification.getId()))
+                    .name(notification.getChangeType().name())
+                    .data(objectMapper.writeValueAsString(notification), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize change notification {}", notification, e);
+            return;
+        }
+        if (notification.getEventId() != null) {
+            publish(byEventId.get(notification.getEventId()), notification, data);
+        }
+        if (notification.getOwnerId() != null) {
+            publish(byOwnerId.get(notification.getOwnerId()), notification, data);
+        }
+        publish(unfiltered, notification, data);
+    }
+
+    void heartbeat() {
+        Set<DataWithMediaType> data = SseEmitter.event()
+                .comment("heartbeat")
+                .build();
+        // Only idle subscribers need it, and a heartbeat must not push a change out of a full queue.
+        subscribers.stream()
+                .filter(subscriber -> subscriber.queue.isEmpty())
+                .forEach(subscriber -> subscriber.offer(data));
+    }
+
+    private static void publish(Set<Subscriber> subscribers, EventChangeNotification notification,
+                                Set<DataWithMediaType> data) {
+        if (subscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.matches(notification)) {
+                subscriber.offer(data);
+            }
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscribers.remove(subscriber);
+        if (subscriber.eventId != null) {
+            remove(byEventId, subscriber.eventId, subscriber);
+        } else if (subscriber.ownerId != null) {
+            remove(byOwnerId, subscriber.ownerId, subscriber);
+        } else {
+            unfiltered.remove(subscriber);
+        }
+        subscriber.queue.clear();
+        subscriberCount.decrementAndGet();
+    }
+
+    private static void add(ConcurrentMap<Long, Set<Subscriber>> index, Long key, Subscriber subscriber) {
+        index.compute(key, (k, set) -> {
+            Set<Subscriber> result = set != null ? set : ConcurrentHashMap.newKeySet();
+            result.add(subscriber);
+            return result;
+        });
+    }
+
+    private static void remove(ConcurrentMap<Long, Set<Subscriber>> index, Long key, Subscriber subscriber) {
+        index.computeIfPresent(key, (k, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+}
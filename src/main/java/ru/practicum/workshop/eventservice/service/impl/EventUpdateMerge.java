@@ -0,0 +1,74 @@
+package ru.practicum.workshop.eventservice.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import ru.practicum.workshop.eventservice.dto.EventRequest;
+import ru.practicum.workshop.eventservice.error.ConflictException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Three-way merge of an event update that lost the optimistic lock to a concurrent one. Fields are compared in groups
+ * that are validated together, so that e.g. a start time from one update never meets an end time from another.
+ */
+final class EventUpdateMerge {
+
+    @RequiredArgsConstructor
+    enum FieldGroup {
+        NAME(r -> Arrays.asList(r.getName()),
+                (from, to) -> to.setName(from.getName())),
+        DESCRIPTION(r -> Arrays.asList(r.getDescription()),
+                (from, to) -> to.setDescription(from.getDescription())),
+        PERIOD(r -> Arrays.asList(r.getStartDateTime(), r.getEndDateTime()),
+                (from, to) -> {
+                    to.setStartDateTime(from.getStartDateTime());
+                    to.setEndDateTime(from.getEndDateTime());
+                }),
+        LOCATION(r -> Arrays.asList(r.getLocation()),
+                (from, to) -> to.setLocation(from.getLocation())),
+        REGISTRATION_STATUS(r -> Arrays.asList(r.getRegistrationStatus()),
+                (from, to) -> to.setRegistrationStatus(from.getRegistrationStatus())),
+        PARTICIPANT_LIMIT(r -> Arrays.asList(r.isLimited(), r.getParticipantLimit()),
+                (from, to) -> {
+                    to.setLimited(from.isLimited());
+                    to.setParticipantLimit(from.getParticipantLimit());
+                });
+
+        private final Function<EventRequest, List<Object>> values;
+        private final BiConsumer<EventRequest, EventRequest> copy;
+
+        private boolean differs(EventRequest first, EventRequest second) {
+            return !values.apply(first).equals(values.apply(second));
+        }
+    }
+
+    private EventUpdateMerge() {
+    }
+
+    /**
+     * The update to apply to the event as it is now ({@code current}) so that {@code request}, which was made against
+     * {@code base}, keeps its own changes and the concurrent ones alike. {@code current} is modified and returned.
+     *
+     * @throws ConflictException if a field group was changed both by {@code request} and concurrently, to different
+     *                           values
+     */
+    static EventRequest merge(EventRequest base, EventRequest request, EventRequest current) {
+        List<FieldGroup> conflicts = new ArrayList<>();
+        for (FieldGroup group : FieldGroup.values()) {
+            if (!group.differs(request, base)) {
+                continue;
+            }
+            if (group.differs(current, base) && group.differs(request, current)) {
+                conflicts.add(group);
+            }
+            group.copy.accept(request, current);
+        }
+        if (!conflicts.isEmpty()) {
+            throw new ConflictException("Event has been modified concurrently, conflicting fields: " + conflicts);
+        }
+        return current;
+    }
+}
@@ -5,19 +5,28 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.workshop.eventservice.client.UserClient;
+import ru.practicum.workshop.eventservice.client.CachedUserClient;
+import ru.practicum.workshop.eventservice.client.dto.UserDto;
 import ru.practicum.workshop.eventservice.dto.NewOrgTeamMemberDto;
+import ru.practicum.workshop.eventservice.dto.OrgTeamMemberImportResultDto;
 import ru.practicum.workshop.eventservice.dto.PublicOrgTeamMemberDto;
 import ru.practicum.workshop.eventservice.dto.UpdateOrgTeamMemberDto;
 import ru.practicum.workshop.eventservice.error.ForbiddenException;
+import ru.practicum.workshop.eventservice.error.NotFoundException;
 import ru.practicum.workshop.eventservice.mapper.OrgTeamMemberMapper;
 import ru.practicum.workshop.eventservice.model.Event;
+import ru.practicum.workshop.eventservice.model.EventChangeType;
 import ru.practicum.workshop.eventservice.model.OrgTeamMember;
+import ru.practicum.workshop.eventservice.outbox.EventChangeOutbox;
 import ru.practicum.workshop.eventservice.repository.OrgTeamMemberRepository;
 import ru.practicum.workshop.eventservice.service.EventService;
 import ru.practicum.workshop.eventservice.service.OrgTeamMemberService;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -26,7 +35,8 @@ public class OrgTeamMemberServiceImpl implements OrgTeamMemberService {
     private final EventService eventService;
     private final OrgTeamMemberRepository orgTeamMemberRepository;
     private final OrgTeamMemberMapper orgTeamMemberMapper;
-    private final UserClient userClient;
+    private final CachedUserClient userClient;
+    private final EventChangeOutbox changeOutbox;
 
     @Override
     @Transactional
@@ -43,12 +53,72 @@ public class OrgTeamMemberServiceImpl implements OrgTeamMemberService {
 
         OrgTeamMember newOrgTeamMember = orgTeamMemberMapper.toOrgTeamMember(event, newOrgTeamMemberDto);
         orgTeamMemberRepository.save(newOrgTeamMember);
+        eventService.incrementVersion(event);
+        changeOutbox.teamMemberChanged(EventChangeType.TEAM_MEMBER_ADDED, event, newOrgTeamMember);
 
         log.info("Added team member: {}", newOrgTeamMember);
 
         return orgTeamMemberMapper.toPublicOrgTeamMemberDto(newOrgTeamMember);
     }
 
+    @Override
+    @Transactional
+    public List<OrgTeamMemberImportResultDto> addTeamMembers(Long requesterId, Long eventId,
+                                                             List<NewOrgTeamMemberDto> newOrgTeamMemberDtos) {
+        Event event = eventService.getEventInternal(eventId);
+
+        checkRightsForOrgTeamModification(requesterId, event);
+
+        List<OrgTeamMemberImportResultDto> results = new ArrayList<>(newOrgTeamMemberDtos.size());
+        Set<Long> requestedUserIds = new HashSet<>();
+        for (NewOrgTeamMemberDto dto : newOrgTeamMemberDtos) {
+            OrgTeamMemberImportResultDto.Status status = null;
+            if (!dto.getEventId().equals(eventId)) {
+                status = OrgTeamMemberImportResultDto.Status.EVENT_MISMATCH;
+            } else if (dto.getUserId().equals(event.getOwnerId())) {
+                status = OrgTeamMemberImportResultDto.Status.EVENT_OWNER;
+            } else if (!requestedUserIds.add(dto.getUserId())) {
+                status = OrgTeamMemberImportResultDto.Status.DUPLICATE;
+            }
+            results.add(new OrgTeamMemberImportResultDto(dto.getUserId(), dto.getRole(), status));
+        }
+
+        Map<Long, UserDto> users = userClient.getUsersByIds(requestedUserIds);
+
+        List<OrgTeamMember> newMembers = new ArrayList<>();
+        List<OrgTeamMemberImportResultDto> newMemberResults = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            OrgTeamMemberImportResultDto result = results.get(i);
+            if (result.getStatus() != null) {
+                continue;
+            }
+            if (!users.containsKey(result.getUserId())) {
+                result.setStatus(OrgTeamMemberImportResultDto.Status.USER_NOT_FOUND);
+                continue;
+            }
+            newMembers.add(orgTeamMemberMapper.toOrgTeamMember(event, newOrgTeamMemberDtos.get(i)));
+            newMemberResults.add(result);
+        }
+
+        List<Boolean> inserted = orgTeamMemberRepository.insertAllIfAbsent(newMembers);
+        for (int i = 0; i < newMemberResults.size(); i++) {
+            newMemberResults.get(i).setStatus(inserted.get(i)
+                    ? OrgTeamMemberImportResultDto.Status.ADDED
+                    : OrgTeamMemberImportResultDto.Status.DUPLICATE);
+            if (inserted.get(i)) {
+                changeOutbox.teamMemberChanged(EventChangeType.TEAM_MEMBER_ADDED, event, newMembers.get(i));
+            }
+        }
+        if (inserted.contains(Boolean.TRUE)) {
+            eventService.incrementVersion(event);
+        }
+
+        log.info("Imported {} of {} team members into event(id={})",
+                inserted.stream().filter(Boolean::booleanValue).count(), newOrgTeamMemberDtos.size(), eventId);
+
+        return results;
+    }
+
     @Override
     @Transactional
     public PublicOrgTeamMemberDto updateTeamMemberData(Long requesterId, UpdateOrgTeamMemberDto updateOrgTeamMemberDto) {
@@ -60,6 +130,8 @@ public class OrgTeamMemberServiceImpl implements OrgTeamMemberService {
                                                                updateOrgTeamMemberDto.getUserId());
 
         orgTeamMemberMapper.updateOrgTeamMemberData(orgTeamMember, updateOrgTeamMemberDto);
+        eventService.incrementVersion(event);
+        changeOutbox.teamMemberChanged(EventChangeType.TEAM_MEMBER_UPDATED, event, orgTeamMember);
 
         log.info("Updated team member: {}", orgTeamMember);
 
@@ -76,19 +148,39 @@ public class OrgTeamMemberServiceImpl implements OrgTeamMemberService {
         OrgTeamMember orgTeamMember = getOrgTeamMemberInternal(eventId, userId);
 
         orgTeamMemberRepository.deleteById(orgTeamMember.getId());
+        eventService.incrementVersion(event);
+        changeOutbox.teamMemberChanged(EventChangeType.TEAM_MEMBER_REMOVED, event, orgTeamMember);
 
         log.info("Deleted team member: {}", orgTeamMember);
     }
 
+    /**
+     * Reads the event and its team in one statement: the event only has to exist, and members come as DTOs straight
+     * from the query.
+     */
     @Override
     public List<PublicOrgTeamMemberDto> getTeamMembers(Long eventId) {
-        Event event = eventService.getEventInternal(eventId);
-
-        List<OrgTeamMember> members = orgTeamMemberRepository.findAllByEventId(eventId);
+        List<PublicOrgTeamMemberDto> rows = orgTeamMemberRepository.findTeamByEventId(eventId);
+        if (rows.isEmpty()) {
+            throw new EntityNotFoundException(String.format("Event with id=%d not found.", eventId));
+        }
+        List<PublicOrgTeamMemberDto> members = rows.stream()
+                .filter(row -> row.getUserId() != null)
+                .toList();
 
         log.info("Sent members: {}", members);
 
-        return orgTeamMemberMapper.toPublicOrgTeamMemberDto(members);
+        return members;
+    }
+
+    @Override
+    public Long getTeamVersion(Long eventId) {
+        try {
+            return eventService.getEventVersion(eventId).version();
+        } catch (NotFoundException e) {
+            // Same answer as the other team endpoints give for an unknown event.
+            throw new EntityNotFoundException(String.format("Event with id=%d not found.", eventId));
+        }
     }
 
     private OrgTeamMember getOrgTeamMemberInternal(Long eventId, Long userId) {
@@ -0,0 +1,18 @@
+-- Participant registrations (EventRegistration). events.registered_count is the capacity counter: it is only
+-- changed by the conditional UPDATEs in CustomizedEventRegistrationRepositoryImpl (plain JDBC), never through the
+-- Event entity, and the check constraint makes the database itself refuse to oversell a limited event.
+ALTER TABLE events ADD COLUMN registered_count INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE events ADD CONSTRAINT events_registered_count_check
+    CHECK (registered_count >= 0 AND (is_limited = FALSE OR registered_count <= participant_limit));
+
+CREATE SEQUENCE event_registrations_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE event_registrations (
+    id BIGINT NOT NULL,
+    event_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    registered_date_time TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_event_registrations PRIMARY KEY (id),
+    CONSTRAINT event_registrations_unique_ids UNIQUE (event_id, user_id),
+    CONSTRAINT fk_event_registrations_event FOREIGN KEY (event_id) REFERENCES events (id) ON DELETE CASCADE
+);
@@ -0,0 +1,8 @@
+-- Places reserved in blocks by the in-memory registration counters (event.registration.counters.enabled) and not
+-- used yet. They count against the limit just like taken places; whatever a stopped instance did not give back is
+-- reconciled with event_registrations on the next startup.
+ALTER TABLE events ADD COLUMN reserved_count INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE events DROP CONSTRAINT events_registered_count_check;
+ALTER TABLE events ADD CONSTRAINT events_registered_count_check
+    CHECK (registered_count >= 0 AND reserved_count >= 0
+        AND (is_limited = FALSE OR registered_count + reserved_count <= participant_limit));
@@ -0,0 +1,14 @@
+-- Transactional outbox: a record per change of an event or its organizing team, written in the same transaction as
+-- the change. OutboxRelay sends records to the configured sink oldest first and deletes them once it has accepted
+-- them. There is no foreign key on purpose: a deleted event still has its deletion to report.
+CREATE SEQUENCE event_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE event_outbox (
+    id BIGINT NOT NULL,
+    event_id BIGINT NOT NULL,
+    change_type VARCHAR(32) NOT NULL,
+    event_version BIGINT,
+    payload VARCHAR(16000),
+    created_date_time TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_event_outbox PRIMARY KEY (id)
+);
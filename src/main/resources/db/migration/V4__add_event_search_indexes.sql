@@ -0,0 +1,8 @@
+-- One index per filter combination produced by CustomizedEventRepositoryImpl.buildPredicate.
+-- Each ends with the feed order (created_date_time DESC, id DESC) so the database can read the first page
+-- straight off the index, with no sort, and start keyset pages at the cursor.
+CREATE INDEX events_created_date_time_idx ON events (created_date_time DESC, id DESC);
+CREATE INDEX events_owner_created_date_time_idx ON events (owner_id, created_date_time DESC, id DESC);
+CREATE INDEX events_status_created_date_time_idx ON events (registration_status, created_date_time DESC, id DESC);
+CREATE INDEX events_owner_status_created_date_time_idx
+    ON events (owner_id, registration_status, created_date_time DESC, id DESC);
@@ -0,0 +1,5 @@
+-- Indexes for the from/to filters and sort=START of the event feed (CustomizedEventRepositoryImpl).
+-- (start_date_time, id) serves the calendar order and "to" alone (start_date_time < ?); end_date_time serves
+-- "from" alone (end_date_time > ?). Filters with both bounds use the GiST range index on PostgreSQL (V8).
+CREATE INDEX events_start_date_time_idx ON events (start_date_time, id);
+CREATE INDEX events_end_date_time_idx ON events (end_date_time);
@@ -0,0 +1,3 @@
+-- Optimistic locking version of events (Event.version). Also the source of the ETags of GET /events/{id} and
+-- GET /events/orgs/{eventId}: organizing team changes bump it as well.
+ALTER TABLE events ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,73 @@
+package ru.practicum.workshop.eventservice;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.workshop.eventservice.model.EventRegistrationStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class EventDataSeeder {
+    private static final String INSERT_EVENT_SQL = "INSERT INTO events (name, description, created_date_time, " +
+            "start_date_time, end_date_time, location, owner_id, registration_status, is_limited, participant_limit) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int BATCH_SIZE = 1000;
+    private static final LocalDateTime BASE_DATE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    /**
+     * Inserts {@code rows} events spread over {@code owners} owners and all registration statuses. Every two
+     * consecutive rows share a creation time so that ordering relies on the id tiebreak.
+     */
+    public static void seedEvents(JdbcTemplate jdbcTemplate, int rows, int owners) {
+        seedEvents(jdbcTemplate, rows, owners, 0);
+    }
+
+    /**
+     * Same as {@link #seedEvents(JdbcTemplate, int, int)}, with descriptions padded to {@code descriptionLength}
+     * characters (the column allows up to 7000).
+     */
+    public static void seedEvents(JdbcTemplate jdbcTemplate, int rows, int owners, int descriptionLength) {
+        EventRegistrationStatus[] statuses = EventRegistrationStatus.values();
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < rows; i++) {
+            LocalDateTime start = BASE_DATE_TIME.plusDays(i % 365).plusHours(i % 24);
+            batch.add(new Object[]{
+                    "Event" + i,
+                    description(i, descriptionLength),
+                    BASE_DATE_TIME.plusSeconds(i / 2),
+                    start,
+                    start.plusHours(2),
+                    "Location" + i,
+                    (long) (i % owners) + 1,
+                    statuses[i % statuses.length].name(),
+                    false,
+                    null});
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT_EVENT_SQL, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_EVENT_SQL, batch);
+        }
+    }
+
+    private static String description(int i, int length) {
+        String description = "Description" + i;
+        return description.length() >= length ? description : description + "*".repeat(length - description.length());
+    }
+
+    public static void deleteEvents(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("DELETE FROM events");
+    }
+
+    /**
+     * Rows written through JDBC bypass the second-level cache; call this after seeding or deleting so that cached
+     * entities and feed query results do not outlive them.
+     */
+    public static void evictSecondLevelCache(EntityManagerFactory entityManagerFactory) {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.workshop.eventservice;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pins down how many JDBC statements Hibernate prepares for an operation, from its statistics
+ * ({@code hibernate.generate_statistics}), so that a new N+1 or a lost cache hit fails a test. Statements issued
+ * through {@code JdbcTemplate} are not counted. The statistics are global: nothing else may use the database while
+ * an operation is measured.
+ */
+public class StatementCounter {
+    private final Statistics statistics;
+
+    public StatementCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public <T> T assertStatements(long expected, ThrowingSupplier<T> operation) throws Throwable {
+        long before = statistics.getPrepareStatementCount();
+        T result = operation.get();
+        long prepared = statistics.getPrepareStatementCount() - before;
+        assertEquals(expected, prepared, () -> String.format("Expected %d statements, got %d", expected, prepared));
+        return result;
+    }
+
+    public void assertStatements(long expected, Executable operation) throws Throwable {
+        assertStatements(expected, () -> {
+            operation.execute();
+            return null;
+        });
+    }
+}
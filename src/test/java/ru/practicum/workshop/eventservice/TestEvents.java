@@ -0,0 +1,40 @@
+package ru.practicum.workshop.eventservice;
+
+import ru.practicum.workshop.eventservice.dto.EventRequest;
+import ru.practicum.workshop.eventservice.model.Event;
+import ru.practicum.workshop.eventservice.model.EventRegistrationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Events for tests that need one but care about few of its fields: open, unlimited, starting tomorrow and lasting
+ * a day.
+ */
+public class TestEvents {
+
+    /**
+     * An event of {@code ownerId} created now; set what the test depends on and build it.
+     */
+    public static Event.EventBuilder event(long ownerId) {
+        return Event.builder()
+                .name("name")
+                .description("description")
+                .createdDateTime(LocalDateTime.now())
+                .startDateTime(LocalDateTime.now().plusDays(1))
+                .endDateTime(LocalDateTime.now().plusDays(2))
+                .location("location")
+                .ownerId(ownerId)
+                .registrationStatus(EventRegistrationStatus.OPEN);
+    }
+
+    public static EventRequest eventRequest(String name) {
+        return EventRequest.builder()
+                .name(name)
+                .description("Description")
+                .location("Location")
+                .startDateTime(LocalDateTime.now().plusDays(1))
+                .endDateTime(LocalDateTime.now().plusDays(2))
+                .registrationStatus(EventRegistrationStatus.OPEN)
+                .build();
+    }
+}
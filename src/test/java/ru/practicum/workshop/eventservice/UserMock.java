@@ -7,6 +7,7 @@ import org.springframework.http.MediaType;
 import ru.practicum.workshop.eventservice.client.dto.UserDto;
 
 import java.io.IOException;
+import java.util.List;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 
@@ -21,4 +22,13 @@ public class UserMock {
                                 .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
                                 .withBody(objectMapper.writeValueAsString(userDto))));
     }
+
+    public static void setupMockGetUsersByIds(WireMockServer mockService, List<UserDto> userDtos) throws IOException {
+        mockService.stubFor(get(urlPathEqualTo("/users"))
+                .willReturn(
+                        aResponse()
+                                .withStatus(HttpStatus.OK.value())
+                                .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                                .withBody(objectMapper.writeValueAsString(userDtos))));
+    }
 }
@@ -0,0 +1,69 @@
+package ru.practicum.workshop.eventservice.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.workshop.eventservice.client.dto.UserDto;
+import ru.practicum.workshop.eventservice.config.UserCacheProperties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CachedUserClientTest {
+
+    @Mock
+    private UserLookupBatcher userLookupBatcher;
+
+    private MeterRegistry meterRegistry;
+    private CachedUserClient cachedUserClient;
+
+    private final UserDto userDto = UserDto.builder().id(1L).name("name").email("email@email.com").build();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cachedUserClient = new CachedUserClient(userLookupBatcher, new UserCacheProperties(), meterRegistry);
+    }
+
+    @Test
+    void getUserById_whenCalledTwice_thenCallsUserServiceOnce() {
+        when(userLookupBatcher.getUserById(1L)).thenReturn(userDto);
+
+        assertEquals(userDto, cachedUserClient.getUserById(1L));
+        assertEquals(userDto, cachedUserClient.getUserById(1L));
+
+        verify(userLookupBatcher, times(1)).getUserById(1L);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tags("cache", "users", "result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void getUserById_whenUserNotFound_thenCachesNotFound() {
+        when(userLookupBatcher.getUserById(2L)).thenThrow(new EntityNotFoundException("Object not found"));
+
+        assertThrows(EntityNotFoundException.class, () -> cachedUserClient.getUserById(2L));
+        assertThrows(EntityNotFoundException.class, () -> cachedUserClient.getUserById(2L));
+
+        verify(userLookupBatcher, times(1)).getUserById(2L);
+    }
+
+    @Test
+    void evict_thenCallsUserServiceAgain() {
+        when(userLookupBatcher.getUserById(1L)).thenReturn(userDto);
+
+        cachedUserClient.getUserById(1L);
+        cachedUserClient.evict(1L);
+        cachedUserClient.getUserById(1L);
+
+        verify(userLookupBatcher, times(2)).getUserById(1L);
+    }
+}
@@ -0,0 +1,69 @@
+package ru.practicum.workshop.eventservice.client;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.workshop.eventservice.client.dto.UserDto;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.practicum.workshop.eventservice.UserMock.setupMockGetUserById;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class UserClientConnectionPoolTest {
+    private static final int LOOKUPS = 20;
+
+    private static WireMockServer mockUserServer;
+
+    private final UserClient userClient;
+    private final MeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void beforeAll() throws IOException {
+        mockUserServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        mockUserServer.start();
+        for (long userId = 1; userId <= LOOKUPS; userId++) {
+            setupMockGetUserById(mockUserServer, userId, UserDto.builder().id(userId).name("name").build());
+        }
+    }
+
+    @DynamicPropertySource
+    static void setUserServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("userservice.url", () -> "localhost:" + mockUserServer.port());
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mockUserServer.stop();
+    }
+
+    private double poolConnections(String state) {
+        return meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("httpclient", "userService")
+                .tag("state", state)
+                .gauge()
+                .value();
+    }
+
+    @Test
+    void sequentialLookups_thenReuseOneConnection() {
+        for (long userId = 1; userId <= LOOKUPS; userId++) {
+            assertEquals(userId, userClient.getUserById(userId).getId());
+        }
+
+        assertEquals(1.0, poolConnections("available"));
+        assertEquals(0.0, poolConnections("leased"));
+    }
+}
@@ -0,0 +1,229 @@
+package ru.practicum.workshop.eventservice.client;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.workshop.eventservice.client.dto.UserDto;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.configureFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.workshop.eventservice.UserMock.setupMockGetUserById;
+import static ru.practicum.workshop.eventservice.UserMock.setupMockGetUsersByIds;
+
+@ActiveProfiles("test")
+// The batch endpoint is tried again by the first batch after a 404, so that re-probing needs no waiting.
+@SpringBootTest(properties = {
+        "userservice.batch.window=500ms",
+        "userservice.batch.reprobe-interval=0"
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@Slf4j
+public class UserLookupBatcherTest {
+    private static final int LOOKUPS = 10;
+    private static final int SINGLE_LOOKUP_DELAY_MS = 200;
+
+    private final UserLookupBatcher userLookupBatcher;
+    private static WireMockServer mockUserServer;
+
+    @BeforeAll
+    static void beforeAll() {
+        mockUserServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        mockUserServer.start();
+        log.info("Mock-server started on port {}.", mockUserServer.port());
+        configureFor("localhost", mockUserServer.port());
+    }
+
+    @DynamicPropertySource
+    static void setUserServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("userservice.url", () -> "localhost:" + mockUserServer.port());
+    }
+
+    @BeforeEach
+    void resetMockServer() {
+        mockUserServer.resetAll();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mockUserServer.stop();
+    }
+
+    private UserDto createUserDto(long userId) {
+        return UserDto.builder()
+                .id(userId)
+                .email("email@email.com")
+                .name("name" + userId)
+                .build();
+    }
+
+    /**
+     * Starts {@link #LOOKUPS} lookups of ids {@code 1..LOOKUPS} at the same time and returns their outcomes in id
+     * order: either the found {@link UserDto} or the thrown exception.
+     */
+    private List<Object> lookUpConcurrently() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(LOOKUPS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<UserDto>> futures = new ArrayList<>();
+            for (long userId = 1; userId <= LOOKUPS; userId++) {
+                long id = userId;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return userLookupBatcher.getUserById(id);
+                }));
+            }
+            start.countDown();
+
+            List<Object> results = new ArrayList<>();
+            for (Future<UserDto> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    results.add(e.getCause());
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void getUserById_concurrentLookups_thenOneBatchRequest() throws Exception {
+        List<UserDto> users = LongStream.rangeClosed(1, LOOKUPS).mapToObj(this::createUserDto).toList();
+        setupMockGetUsersByIds(mockUserServer, users);
+
+        List<Object> results = lookUpConcurrently();
+
+        assertEquals(users, results);
+        mockUserServer.verify(1, getRequestedFor(urlPathEqualTo("/users")));
+        mockUserServer.verify(0, getRequestedFor(urlPathMatching("/users/.+")));
+    }
+
+    @Test
+    void getUserById_whenBatchMissesUser_thenNotFoundOnlyForThatUser() throws Exception {
+        List<UserDto> users = LongStream.rangeClosed(2, LOOKUPS).mapToObj(this::createUserDto).toList();
+        setupMockGetUsersByIds(mockUserServer, users);
+
+        List<Object> results = lookUpConcurrently();
+
+        assertInstanceOf(EntityNotFoundException.class, results.get(0));
+        assertEquals(users, results.subList(1, LOOKUPS));
+        mockUserServer.verify(1, getRequestedFor(urlPathEqualTo("/users")));
+    }
+
+    @Test
+    void getUserById_whenBatchAnswerUnusable_thenEveryCallerFails() {
+        mockUserServer.stubFor(get(urlPathEqualTo("/users"))
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.OK.value())
+                        .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)));
+
+        List<Object> results = assertTimeoutPreemptively(Duration.ofSeconds(5), this::lookUpConcurrently);
+
+        results.forEach(result -> assertInstanceOf(RuntimeException.class, result));
+    }
+
+    @Test
+    void getUserById_singleLookup_thenUsesSingleUserEndpoint() throws IOException {
+        setupMockGetUserById(mockUserServer, 1L, createUserDto(1L));
+
+        assertEquals(createUserDto(1L), userLookupBatcher.getUserById(1L));
+        assertThrows(EntityNotFoundException.class, () -> userLookupBatcher.getUserById(2L));
+        mockUserServer.verify(0, getRequestedFor(urlPathEqualTo("/users")));
+    }
+
+    @Test
+    @DirtiesContext
+    void getUserById_whenBatchEndpointNotFound_thenFallsBackToSingleLookups() throws Exception {
+        mockUserServer.stubFor(get(urlPathEqualTo("/users"))
+                .willReturn(aResponse().withStatus(HttpStatus.NOT_FOUND.value())));
+        List<UserDto> users = new ArrayList<>();
+        for (long userId = 1; userId <= LOOKUPS; userId++) {
+            users.add(createUserDto(userId));
+            setupMockGetUserById(mockUserServer, userId, createUserDto(userId));
+        }
+
+        List<Object> results = lookUpConcurrently();
+
+        assertEquals(users, results);
+        mockUserServer.verify(1, getRequestedFor(urlPathEqualTo("/users")));
+        mockUserServer.verify(LOOKUPS, getRequestedFor(urlPathMatching("/users/.+")));
+    }
+
+    @Test
+    @DirtiesContext
+    void getUserById_whenBatchEndpointNotFound_thenCallersLookUpConcurrently() throws Exception {
+        mockUserServer.stubFor(get(urlPathEqualTo("/users"))
+                .willReturn(aResponse().withStatus(HttpStatus.NOT_FOUND.value())));
+        for (long userId = 1; userId <= LOOKUPS; userId++) {
+            mockUserServer.stubFor(get(urlPathEqualTo("/users/" + userId))
+                    .willReturn(aResponse()
+                            .withStatus(HttpStatus.OK.value())
+                            .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                            .withBody("{\"id\":" + userId + "}")
+                            .withFixedDelay(SINGLE_LOOKUP_DELAY_MS)));
+        }
+
+        long start = System.nanoTime();
+        List<Object> results = lookUpConcurrently();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(LOOKUPS, results.stream().filter(UserDto.class::isInstance).count());
+        // One after another the single lookups alone would take LOOKUPS * SINGLE_LOOKUP_DELAY_MS.
+        assertTrue(millis < 500 + LOOKUPS * SINGLE_LOOKUP_DELAY_MS / 2, "took " + millis + " ms");
+    }
+
+    @Test
+    @DirtiesContext
+    void getUserById_afterBatchEndpointNotFound_thenProbesItAgain() throws Exception {
+        mockUserServer.stubFor(get(urlPathEqualTo("/users"))
+                .willReturn(aResponse().withStatus(HttpStatus.NOT_FOUND.value())));
+        List<UserDto> users = new ArrayList<>();
+        for (long userId = 1; userId <= LOOKUPS; userId++) {
+            users.add(createUserDto(userId));
+            setupMockGetUserById(mockUserServer, userId, createUserDto(userId));
+        }
+        assertEquals(users, lookUpConcurrently());
+
+        setupMockGetUsersByIds(mockUserServer, users);
+        assertEquals(users, lookUpConcurrently());
+
+        mockUserServer.verify(2, getRequestedFor(urlPathEqualTo("/users")));
+        mockUserServer.verify(LOOKUPS, getRequestedFor(urlPathMatching("/users/.+")));
+    }
+}
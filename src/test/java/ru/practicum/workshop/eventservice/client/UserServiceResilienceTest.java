@@ -0,0 +1,208 @@
+package ru.practicum.workshop.eventservice.client;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.http.Fault;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.workshop.eventservice.client.dto.UserDto;
+import ru.practicum.workshop.eventservice.error.UserServiceException;
+import ru.practicum.workshop.eventservice.repository.EventRepository;
+import ru.practicum.workshop.eventservice.service.EventService;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.workshop.eventservice.TestEvents.event;
+import static ru.practicum.workshop.eventservice.TestEvents.eventRequest;
+import static ru.practicum.workshop.eventservice.UserMock.setupMockGetUserById;
+
+/**
+ * Fault injection into User Service. Lookups go to the single-user endpoint, one request per attempt.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@TestPropertySource(properties = {
+        "userservice.batch.window=0",
+        "spring.cloud.openfeign.client.config.userClient.read-timeout=200",
+        "resilience4j.retry.instances.userService.wait-duration=10ms",
+        "resilience4j.circuitbreaker.instances.userService.sliding-window-size=4",
+        "resilience4j.circuitbreaker.instances.userService.minimum-number-of-calls=4",
+        "resilience4j.circuitbreaker.instances.userService.wait-duration-in-open-state=1h",
+        "resilience4j.bulkhead.instances.userService.max-concurrent-calls=2"
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class UserServiceResilienceTest {
+    private static final long OWNER_ID = 1L;
+    private static final int SLOW_USER_SERVICE_MS = 1000;
+
+    private static WireMockServer mockUserServer;
+
+    private final ResilientUserClient userClient;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final EventService eventService;
+    private final EventRepository eventRepository;
+
+    @BeforeAll
+    static void beforeAll() {
+        mockUserServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        mockUserServer.start();
+    }
+
+    @DynamicPropertySource
+    static void setUserServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("userservice.url", () -> "localhost:" + mockUserServer.port());
+    }
+
+    @BeforeEach
+    void setUp() {
+        mockUserServer.resetAll();
+        circuitBreaker().reset();
+    }
+
+    @AfterEach
+    void clearDataBase() {
+        eventRepository.deleteAll();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mockUserServer.stop();
+    }
+
+    private CircuitBreaker circuitBreaker() {
+        return circuitBreakerRegistry.circuitBreaker(ResilientUserClient.USER_SERVICE);
+    }
+
+    private static void stubUser(long userId, int status) {
+        mockUserServer.stubFor(get(urlEqualTo("/users/" + userId))
+                .willReturn(aResponse().withStatus(status)));
+    }
+
+    private static int requestsFor(long userId) {
+        return mockUserServer.findAll(getRequestedFor(urlEqualTo("/users/" + userId))).size();
+    }
+
+    @Test
+    void serverError_thenRetriedAndFailsWithUserServiceException() {
+        stubUser(10L, HttpStatus.INTERNAL_SERVER_ERROR.value());
+
+        assertThrows(UserServiceException.class, () -> userClient.getUserById(10L));
+
+        assertEquals(3, requestsFor(10L));
+    }
+
+    @Test
+    void notFound_thenNeitherRetriedNorCountedAsFailure() {
+        stubUser(11L, HttpStatus.NOT_FOUND.value());
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(EntityNotFoundException.class, () -> userClient.getUserById(11L));
+        }
+
+        assertEquals(5, requestsFor(11L));
+        assertEquals(0, circuitBreaker().getMetrics().getNumberOfFailedCalls());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker().getState());
+    }
+
+    @Test
+    void slowUserService_thenTimesOut() {
+        mockUserServer.stubFor(get(urlEqualTo("/users/12"))
+                .willReturn(aResponse().withFixedDelay(SLOW_USER_SERVICE_MS)));
+
+        long started = System.nanoTime();
+        assertThrows(UserServiceException.class, () -> userClient.getUserById(12L));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).toMillis() < 3 * SLOW_USER_SERVICE_MS);
+    }
+
+    @Test
+    void failingUserService_thenCircuitOpensAndLookupsFailFast() {
+        mockUserServer.stubFor(get(urlEqualTo("/users/13"))
+                .willReturn(aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER)));
+
+        assertThrows(UserServiceException.class, () -> userClient.getUserById(13L));
+        assertThrows(UserServiceException.class, () -> userClient.getUserById(13L));
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker().getState());
+        int requests = requestsFor(13L);
+
+        long started = System.nanoTime();
+        assertThrows(UserServiceException.class, () -> userClient.getUserById(13L));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).toMillis() < 100);
+        assertEquals(requests, requestsFor(13L));
+    }
+
+    @Test
+    void degradedUserService_thenEventReadsStayFast() throws Exception {
+        mockUserServer.stubFor(get(urlPathMatching("/users/.+"))
+                .willReturn(aResponse().withFixedDelay(SLOW_USER_SERVICE_MS)));
+        Long eventId = eventRepository.save(event(OWNER_ID).build()).getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(20);
+        try {
+            List<Future<?>> creations = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                long requesterId = 100 + i;
+                creations.add(executor.submit(() -> eventService.createEvent(eventRequest("name"), requesterId)));
+            }
+
+            long slowest = 0;
+            for (int i = 0; i < 50; i++) {
+                long started = System.nanoTime();
+                eventService.getEvent(eventId, OWNER_ID);
+                slowest = Math.max(slowest, System.nanoTime() - started);
+                Thread.sleep(10);
+            }
+            long slowestMs = Duration.ofNanos(slowest).toMillis();
+            assertTrue(slowestMs < 200, () -> "Slowest read took " + slowestMs + " ms");
+
+            for (Future<?> creation : creations) {
+                try {
+                    creation.get(30, TimeUnit.SECONDS);
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof UserServiceException, e::toString);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, eventRepository.count());
+    }
+
+    @Test
+    void recoveredUserService_thenLookupsSucceed() throws IOException {
+        setupMockGetUserById(mockUserServer, 14L, UserDto.builder().id(14L).name("name").build());
+
+        assertEquals(14L, userClient.getUserById(14L).getId());
+    }
+}
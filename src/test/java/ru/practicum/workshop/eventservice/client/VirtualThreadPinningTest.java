@@ -0,0 +1,117 @@
+package ru.practicum.workshop.eventservice.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import jakarta.persistence.EntityNotFoundException;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.workshop.eventservice.client.dto.UserDto;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.configureFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs concurrent user lookups on virtual threads, the way request threads make them with
+ * {@code spring.threads.virtual.enabled=true}, and fails if any of them gets pinned to its carrier while blocked
+ * (e.g. waiting on user-service inside a {@code synchronized} block).
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties = {"spring.threads.virtual.enabled=true", "userservice.batch.window=20ms"})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@Slf4j
+public class VirtualThreadPinningTest {
+    private static final int LOOKUPS = 200;
+    private static final int USER_SERVICE_DELAY_MS = 50;
+
+    private final CachedUserClient cachedUserClient;
+    private static WireMockServer mockUserServer;
+
+    @BeforeAll
+    static void beforeAll() throws Exception {
+        mockUserServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        mockUserServer.start();
+        log.info("Mock-server started on port {}.", mockUserServer.port());
+        configureFor("localhost", mockUserServer.port());
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<UserDto> users = LongStream.rangeClosed(1, LOOKUPS)
+                .mapToObj(userId -> UserDto.builder().id(userId).name("name" + userId).build())
+                .toList();
+        mockUserServer.stubFor(get(urlPathEqualTo("/users"))
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.OK.value())
+                        .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(objectMapper.writeValueAsString(users))
+                        .withFixedDelay(USER_SERVICE_DELAY_MS)));
+        mockUserServer.stubFor(get(urlPathMatching("/users/.+"))
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.NOT_FOUND.value())
+                        .withFixedDelay(USER_SERVICE_DELAY_MS)));
+    }
+
+    @DynamicPropertySource
+    static void setUserServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("userservice.url", () -> "localhost:" + mockUserServer.port());
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mockUserServer.stop();
+    }
+
+    @Test
+    void concurrentLookups_onVirtualThreads_thenNoPinning() throws InterruptedException {
+        List<RecordedEvent> pinnedEvents = new CopyOnWriteArrayList<>();
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(10)).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", pinnedEvents::add);
+            recording.startAsync();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (long userId = 1; userId <= LOOKUPS * 2; userId++) {
+                    long id = userId;
+                    executor.submit(() -> lookUp(id));
+                }
+            }
+
+            recording.stop();
+        }
+
+        assertTrue(pinnedEvents.isEmpty(), () -> "Virtual threads were pinned:\n" + pinnedEvents.stream()
+                .map(RecordedEvent::toString)
+                .collect(Collectors.joining("\n")));
+    }
+
+    private void lookUp(long userId) {
+        try {
+            cachedUserClient.getUserById(userId);
+        } catch (EntityNotFoundException e) {
+            log.debug("User(id={}) not found", userId);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package ru.practicum.workshop.eventservice.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.workshop.eventservice.client.dto.UserDto;
+import ru.practicum.workshop.eventservice.dto.EventRequest;
+import ru.practicum.workshop.eventservice.model.EventRegistrationStatus;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.practicum.workshop.eventservice.EventDataSeeder.deleteEvents;
+
+/**
+ * Fires {@link #REQUESTS} concurrent {@code POST /events}, each of which blocks on user-service for
+ * {@link #USER_SERVICE_DELAY_MS}, against a Tomcat limited to {@link #TOMCAT_MAX_THREADS} threads. Reports p50/p99
+ * latency and the highest number of requests that were waiting on user-service at the same time, i.e. in flight on
+ * the server. Subclasses pick the thread model. Run with {@code mvn test -Pbenchmark}.
+ */
+@ActiveProfiles("test")
+@Tag("benchmark")
+@Slf4j
+abstract class AbstractEventCreationLoadBenchmark {
+    static final int REQUESTS = 300;
+    static final int TOMCAT_MAX_THREADS = 50;
+    static final int USER_SERVICE_DELAY_MS = 200;
+
+    private static WireMockServer mockUserServer;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void beforeAll() throws Exception {
+        mockUserServer = new WireMockServer(WireMockConfiguration.wireMockConfig()
+                .dynamicPort()
+                .containerThreads(REQUESTS + 20));
+        mockUserServer.start();
+        mockUserServer.stubFor(get(urlPathMatching("/users/.+"))
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.OK.value())
+                        .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(new ObjectMapper().writeValueAsString(UserDto.builder().id(1L).build()))
+                        .withFixedDelay(USER_SERVICE_DELAY_MS)));
+    }
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("userservice.url", () -> "localhost:" + mockUserServer.port());
+        registry.add("server.tomcat.threads.max", () -> TOMCAT_MAX_THREADS);
+        // User lookups are not coalesced, and neither the pools nor the User Service bulkhead are small enough to be
+        // the bottleneck: only the thread model should limit concurrency here.
+        registry.add("userservice.batch.window", () -> "0");
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> REQUESTS + 10);
+        registry.add("resilience4j.bulkhead.instances.userService.max-concurrent-calls", () -> REQUESTS);
+        registry.add("userservice.http.max-connections", () -> REQUESTS);
+        registry.add("userservice.http.max-connections-per-route", () -> REQUESTS);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mockUserServer.stop();
+    }
+
+    /**
+     * @param maxInFlight the highest number of requests the server was handling at once
+     */
+    abstract void checkResult(int maxInFlight, long p99Millis);
+
+    @Test
+    void createEvents_underLoad() throws Exception {
+        byte[] body = objectMapper.writeValueAsBytes(new EventRequest("Load test", "Description",
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), "Online",
+                EventRegistrationStatus.OPEN, false, null));
+        mockUserServer.resetRequests();
+
+        List<Long> latencies = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder().executor(executor).build()) {
+            List<CompletableFuture<Long>> responses = new ArrayList<>();
+            for (int i = 1; i <= REQUESTS; i++) {
+                // A new requester every time, so each request really goes to user-service.
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/events"))
+                        .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .header("X-User-Id", String.valueOf(i))
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                        .build();
+                long start = System.nanoTime();
+                responses.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                        .thenApply(response -> {
+                            assertEquals(HttpStatus.CREATED.value(), response.statusCode());
+                            return (System.nanoTime() - start) / 1_000_000;
+                        }));
+            }
+            for (CompletableFuture<Long> response : responses) {
+                latencies.add(response.join());
+            }
+        } finally {
+            deleteEvents(jdbcTemplate);
+        }
+
+        latencies.sort(Long::compare);
+        long p50 = latencies.get(latencies.size() / 2);
+        long p99 = latencies.get((int) Math.ceil(latencies.size() * 0.99) - 1);
+        int maxInFlight = maxConcurrentUserServiceCalls(mockUserServer.getAllServeEvents());
+        log.info("{}: {} requests, Tomcat max threads {}, user-service delay {} ms -> max in flight {}, "
+                        + "p50 {} ms, p99 {} ms",
+                getClass().getSimpleName(), REQUESTS, TOMCAT_MAX_THREADS, USER_SERVICE_DELAY_MS, maxInFlight,
+                p50, p99);
+        checkResult(maxInFlight, p99);
+    }
+
+    private static int maxConcurrentUserServiceCalls(List<ServeEvent> serveEvents) {
+        List<long[]> edges = new ArrayList<>();
+        for (ServeEvent serveEvent : serveEvents) {
+            long start = serveEvent.getRequest().getLoggedDate().getTime();
+            edges.add(new long[]{start, 1});
+            edges.add(new long[]{start + USER_SERVICE_DELAY_MS, -1});
+        }
+        // Ends sort before starts at the same instant, so back-to-back calls do not count as overlapping.
+        edges.sort((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        int current = 0;
+        int max = 0;
+        for (long[] edge : edges) {
+            current += (int) edge[1];
+            max = Math.max(max, current);
+        }
+        return max;
+    }
+}
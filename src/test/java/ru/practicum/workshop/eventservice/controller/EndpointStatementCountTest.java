@@ -0,0 +1,108 @@
+package ru.practicum.workshop.eventservice.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.workshop.eventservice.StatementCounter;
+import ru.practicum.workshop.eventservice.model.Event;
+import ru.practicum.workshop.eventservice.model.OrgTeamMember;
+import ru.practicum.workshop.eventservice.repository.EventRepository;
+import ru.practicum.workshop.eventservice.repository.OrgTeamMemberRepository;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.workshop.eventservice.TestEvents.event;
+
+/**
+ * Statements per request of the read endpoints, with the second-level cache empty unless stated otherwise.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class EndpointStatementCountTest {
+    private static final long OWNER_ID = 1L;
+    private static final int TEAM_SIZE = 5;
+
+    private final MockMvc mockMvc;
+    private final EventRepository eventRepository;
+    private final OrgTeamMemberRepository orgTeamMemberRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private StatementCounter statementCounter;
+    private Long eventId;
+
+    @BeforeEach
+    void setUp() {
+        statementCounter = new StatementCounter(entityManagerFactory);
+        Event event = eventRepository.save(event(OWNER_ID).build());
+        eventId = event.getId();
+        for (long userId = 2; userId < 2 + TEAM_SIZE; userId++) {
+            orgTeamMemberRepository.save(OrgTeamMember.builder()
+                    .event(event)
+                    .userId(userId)
+                    .role(OrgTeamMember.Role.EXECUTOR)
+                    .build());
+        }
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void clearDataBase() {
+        orgTeamMemberRepository.deleteAll();
+        eventRepository.deleteAll();
+    }
+
+    private String eTagOf(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request)
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+    }
+
+    @Test
+    void getEvent_thenVersionAndEventQueries_andNoneOnceCached() throws Throwable {
+        statementCounter.assertStatements(2, () -> mockMvc.perform(get("/events/{id}", eventId))
+                .andExpect(status().isOk()));
+
+        statementCounter.assertStatements(0, () -> mockMvc.perform(get("/events/{id}", eventId))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void getEvent_whenNotModified_thenVersionQueryOnly() throws Throwable {
+        String eTag = eTagOf(get("/events/{id}", eventId));
+        entityManagerFactory.getCache().evictAll();
+
+        statementCounter.assertStatements(1, () -> mockMvc.perform(get("/events/{id}", eventId)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified()));
+    }
+
+    @Test
+    void getTeamMembers_thenVersionAndTeamQueries() throws Throwable {
+        statementCounter.assertStatements(2, () -> mockMvc.perform(get("/events/orgs/{eventId}", eventId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(TEAM_SIZE)));
+    }
+
+    @Test
+    void getTeamMembers_whenNotModified_thenVersionQueryOnly() throws Throwable {
+        String eTag = eTagOf(get("/events/orgs/{eventId}", eventId));
+        entityManagerFactory.getCache().evictAll();
+
+        statementCounter.assertStatements(1, () -> mockMvc.perform(get("/events/orgs/{eventId}", eventId)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified()));
+    }
+}
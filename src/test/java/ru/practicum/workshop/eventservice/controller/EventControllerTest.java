@@ -6,25 +6,55 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.workshop.eventservice.dto.EventLookupRequest;
+import ru.practicum.workshop.eventservice.dto.EventLookupResponse;
+import ru.practicum.workshop.eventservice.dto.EventPage;
+import ru.practicum.workshop.eventservice.dto.EventRegistrationDto;
 import ru.practicum.workshop.eventservice.dto.EventRequest;
 import ru.practicum.workshop.eventservice.dto.EventResponse;
+import ru.practicum.workshop.eventservice.dto.EventUpdateResult;
+import ru.practicum.workshop.eventservice.error.ConflictException;
+import ru.practicum.workshop.eventservice.error.PreconditionFailedException;
+import ru.practicum.workshop.eventservice.error.ServiceUnavailableException;
 import ru.practicum.workshop.eventservice.model.EventRegistrationStatus;
+import ru.practicum.workshop.eventservice.model.EventVersion;
+import ru.practicum.workshop.eventservice.params.EventCursor;
+import ru.practicum.workshop.eventservice.params.EventCursorCodec;
 import ru.practicum.workshop.eventservice.params.EventSearchParam;
+import ru.practicum.workshop.eventservice.params.EventSort;
+import ru.practicum.workshop.eventservice.service.EventRegistrationService;
 import ru.practicum.workshop.eventservice.service.EventService;
+import ru.practicum.workshop.eventservice.service.EventStreamService;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = EventController.class)
+@Import(EventCursorCodec.class)
 public class EventControllerTest {
 
     @Autowired
@@ -33,9 +63,18 @@ public class EventControllerTest {
     @MockBean
     private EventService eventService;
 
+    @MockBean
+    private EventRegistrationService eventRegistrationService;
+
+    @MockBean
+    private EventStreamService eventStreamService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EventCursorCodec cursorCodec;
+
     @Test
     void testCreateEvent() throws Exception {
         LocalDateTime startDateTime = LocalDateTime.now().plusHours(2);
@@ -98,14 +137,48 @@ public class EventControllerTest {
                 "New Location",1L, LocalDateTime.of(2024, 12, 2, 10, 0),
                 EventRegistrationStatus.OPEN, false, null);
 
-        Mockito.when(eventService.updateEvent(anyLong(), any(EventRequest.class), anyLong()))
-                .thenReturn(updateResponse);
+        Mockito.when(eventService.updateEvent(anyLong(), any(EventRequest.class), anyLong(), isNull()))
+                .thenReturn(new EventUpdateResult(updateResponse, new EventVersion(1L, 1L, 4L)));
 
         mockMvc.perform(patch("/events/1")
                         .header("X-User-Id", 1L)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updateRequest)))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4-owner\""));
+        Mockito.verify(eventService, Mockito.never()).getEventVersion(anyLong());
+    }
+
+    @Test
+    void testUpdateEvent_withIfMatch_thenPassesExpectedVersion() throws Exception {
+        EventRequest updateRequest = new EventRequest("Updated Event", "Updated Description",
+                LocalDateTime.now().plusHours(2), LocalDateTime.now().plusDays(2), "New Location",
+                EventRegistrationStatus.OPEN, false, null);
+        Mockito.when(eventService.updateEvent(eq(1L), any(EventRequest.class), eq(1L), eq(3L)))
+                .thenThrow(new PreconditionFailedException("Event has been modified"));
+
+        mockMvc.perform(patch("/events/1")
+                        .header("X-User-Id", 1L)
+                        .header(HttpHeaders.IF_MATCH, "\"3-owner\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void testUpdateEvent_withForeignIfMatch_thenReturns412() throws Exception {
+        EventRequest updateRequest = new EventRequest("Updated Event", "Updated Description",
+                LocalDateTime.now().plusHours(2), LocalDateTime.now().plusDays(2), "New Location",
+                EventRegistrationStatus.OPEN, false, null);
+
+        mockMvc.perform(patch("/events/1")
+                        .header("X-User-Id", 1L)
+                        .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isPreconditionFailed());
+        Mockito.verify(eventService, Mockito.never())
+                .updateEvent(anyLong(), any(EventRequest.class), anyLong(), any());
     }
 
     @Test
@@ -125,14 +198,46 @@ public class EventControllerTest {
         );
 
         Mockito.when(eventService.getEvent(1L, 1L)).thenReturn(response);
+        Mockito.when(eventService.getEventVersion(1L)).thenReturn(new EventVersion(1L, 1L, 0L));
 
         mockMvc.perform(get("/events/1")
                         .header("X-User-Id", 1L))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0-owner\""))
+                .andExpect(header().string(HttpHeaders.VARY, "X-User-Id"))
                 .andExpect(jsonPath("$.name").value("Test Event"))
                 .andExpect(jsonPath("$.createdDateTime").exists());
     }
 
+    @Test
+    void testGetEventById_withMatchingIfNoneMatch_thenReturns304WithoutLoadingEvent() throws Exception {
+        Mockito.when(eventService.getEventVersion(1L)).thenReturn(new EventVersion(1L, 1L, 7L));
+
+        mockMvc.perform(get("/events/1")
+                        .header("X-User-Id", 2L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7\""))
+                .andExpect(content().string(""));
+        Mockito.verify(eventService, Mockito.never()).getEvent(anyLong(), any());
+    }
+
+    @Test
+    void testGetEventById_withStaleIfNoneMatch_thenReturnsEvent() throws Exception {
+        EventResponse response = new EventResponse(1L, "Test Event", "Description",
+                LocalDateTime.of(2024, 12, 1, 10, 0), LocalDateTime.of(2024, 12, 1, 12, 0), "Online", 1L, null,
+                EventRegistrationStatus.OPEN, false, null);
+        Mockito.when(eventService.getEventVersion(1L)).thenReturn(new EventVersion(1L, 1L, 8L));
+        Mockito.when(eventService.getEvent(1L, 2L)).thenReturn(response);
+
+        mockMvc.perform(get("/events/1")
+                        .header("X-User-Id", 2L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"7\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"8\""))
+                .andExpect(jsonPath("$.name").value("Test Event"));
+    }
+
     @Test
     void testGetEvents() throws Exception {
         EventResponse event1 = new EventResponse(
@@ -150,7 +255,7 @@ public class EventControllerTest {
         );
         List<EventResponse> response = new ArrayList<>(List.of(event1));
 
-        Mockito.when(eventService.getEvents(any(EventSearchParam.class))).thenReturn(response);
+        Mockito.when(eventService.getEventPage(any(EventSearchParam.class))).thenReturn(new EventPage(response, null));
 
         mockMvc.perform(get("/events")
                         .param("page", String.valueOf(0))
@@ -159,7 +264,174 @@ public class EventControllerTest {
                         .param("status", EventRegistrationStatus.OPEN.toString())
                 )
                 .andExpect(status().isOk())
-                .andExpect(jsonPath(".name").value("Test Event"));
+                .andExpect(jsonPath(".name").value("Test Event"))
+                .andExpect(header().doesNotExist(EventController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void testGetEvents_withCursor() throws Exception {
+        EventCursor cursor = new EventCursor(LocalDateTime.of(2024, 12, 1, 10, 0), 5L);
+        Mockito.when(eventService.getEventPage(any(EventSearchParam.class)))
+                .thenReturn(new EventPage(new ArrayList<>(), "next"));
+
+        mockMvc.perform(get("/events")
+                        .param("size", String.valueOf(2))
+                        .param("cursor", cursorCodec.encode(cursor)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(EventController.NEXT_CURSOR_HEADER, "next"));
+
+        Mockito.verify(eventService).getEventPage(argThat(param -> cursor.equals(param.getCursor())));
+    }
+
+    @Test
+    void testGetEvents_withCursor_thenTokenHidesItsFields() {
+        EventCursor cursor = new EventCursor(LocalDateTime.of(2024, 12, 1, 10, 0), 5L);
+
+        String token = cursorCodec.encode(cursor);
+
+        String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.ISO_8859_1);
+        assertFalse(decoded.contains("2024-12-01"));
+        assertEquals(cursor, cursorCodec.decode(token));
+    }
+
+    @Test
+    void testGetEvents_withAlteredCursor_thenReturns400() throws Exception {
+        byte[] token = Base64.getUrlDecoder().decode(
+                cursorCodec.encode(new EventCursor(LocalDateTime.of(2024, 12, 1, 10, 0), 5L)));
+        token[token.length - 1] ^= 1;
+
+        mockMvc.perform(get("/events")
+                        .param("cursor", Base64.getUrlEncoder().withoutPadding().encodeToString(token)))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(eventService, Mockito.never()).getEventPage(any(EventSearchParam.class));
+    }
+
+    @Test
+    void testGetEvents_summary_thenNoDescriptionInResponse() throws Exception {
+        EventResponse event = EventResponse.builder()
+                .id(1L)
+                .name("Test Event")
+                .startDateTime(LocalDateTime.of(2024, 12, 1, 10, 0))
+                .endDateTime(LocalDateTime.of(2024, 12, 1, 12, 0))
+                .location("Online")
+                .ownerId(1L)
+                .registrationStatus(EventRegistrationStatus.OPEN)
+                .build();
+        Mockito.when(eventService.getEventPage(any(EventSearchParam.class)))
+                .thenReturn(new EventPage(new ArrayList<>(List.of(event)), null));
+
+        mockMvc.perform(get("/events")
+                        .param("summary", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Test Event"))
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+
+        Mockito.verify(eventService).getEventPage(argThat(EventSearchParam::isSummary));
+    }
+
+    @Test
+    void testGetEvents_withQuery_thenPassesTrimmedText() throws Exception {
+        Mockito.when(eventService.getEventPage(any(EventSearchParam.class)))
+                .thenReturn(new EventPage(new ArrayList<>(), null));
+
+        mockMvc.perform(get("/events")
+                        .param("q", "  java conference "))
+                .andExpect(status().isOk());
+
+        Mockito.verify(eventService).getEventPage(argThat(param -> "java conference".equals(param.getText())));
+    }
+
+    @Test
+    void testGetEvents_withQueryAndCursor_thenReturns400() throws Exception {
+        EventCursor cursor = new EventCursor(LocalDateTime.of(2024, 12, 1, 10, 0), 5L);
+
+        mockMvc.perform(get("/events")
+                        .param("q", "java")
+                        .param("cursor", cursorCodec.encode(cursor)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetEvents_withPeriodAndStartSort_thenPassesThem() throws Exception {
+        Mockito.when(eventService.getEventPage(any(EventSearchParam.class)))
+                .thenReturn(new EventPage(new ArrayList<>(), null));
+
+        mockMvc.perform(get("/events")
+                        .param("from", "2024-12-01T00:00:00")
+                        .param("to", "2024-12-08T00:00:00")
+                        .param("sort", EventSort.START.name()))
+                .andExpect(status().isOk());
+
+        Mockito.verify(eventService).getEventPage(argThat(param -> param.getSort() == EventSort.START
+                && LocalDateTime.of(2024, 12, 1, 0, 0).equals(param.getFrom())
+                && LocalDateTime.of(2024, 12, 8, 0, 0).equals(param.getTo())
+                && EventSort.START.toSort().equals(param.getPageable().getSort())));
+    }
+
+    @Test
+    void testGetEvents_withEmptyPeriod_thenReturns400() throws Exception {
+        mockMvc.perform(get("/events")
+                        .param("from", "2024-12-08T00:00:00")
+                        .param("to", "2024-12-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testExportEvents_thenStreamsNdjson() throws Exception {
+        Mockito.doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(1);
+            outputStream.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(eventService).exportEvents(any(EventSearchParam.class), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/events/export")
+                        .param("status", EventRegistrationStatus.OPEN.toString())
+                        .param("q", "java"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+        Mockito.verify(eventService).exportEvents(argThat(param -> param.getStatus() == EventRegistrationStatus.OPEN
+                && "java".equals(param.getText())), any(OutputStream.class));
+    }
+
+    @Test
+    void testLookupEvents() throws Exception {
+        EventResponse event = EventResponse.builder()
+                .id(1L)
+                .name("Test Event")
+                .build();
+        Mockito.when(eventService.lookupEvents(List.of(1L, 2L), 5L))
+                .thenReturn(new EventLookupResponse(List.of(event), List.of(2L)));
+
+        mockMvc.perform(post("/events/lookup")
+                        .header("X-User-Id", 5L)
+                        .content(objectMapper.writeValueAsString(new EventLookupRequest(List.of(1L, 2L))))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events[0].id").value(1L))
+                .andExpect(jsonPath("$.missingIds[0]").value(2L));
+    }
+
+    @Test
+    void testLookupEvents_withNoIds_thenReturns400() throws Exception {
+        mockMvc.perform(post("/events/lookup")
+                        .content(objectMapper.writeValueAsString(new EventLookupRequest(List.of())))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(eventService);
+    }
+
+    @Test
+    void testGetEvents_withInvalidCursor_thenReturns400() throws Exception {
+        mockMvc.perform(get("/events")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -171,6 +443,59 @@ public class EventControllerTest {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    void testRegister() throws Exception {
+        LocalDateTime registeredDateTime = LocalDateTime.of(2030, 1, 1, 10, 0);
+        Mockito.when(eventRegistrationService.register(1L, 2L))
+                .thenReturn(new EventRegistrationDto(1L, 2L, registeredDateTime));
+
+        mockMvc.perform(post("/events/1/registrations")
+                        .header("X-User-Id", 2L))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.eventId").value(1L))
+                .andExpect(jsonPath("$.userId").value(2L));
+    }
+
+    @Test
+    void testRegister_whenNoPlacesLeft_thenReturns409() throws Exception {
+        Mockito.when(eventRegistrationService.register(1L, 2L))
+                .thenThrow(new ConflictException("No places left at event(id=1)"));
+
+        mockMvc.perform(post("/events/1/registrations")
+                        .header("X-User-Id", 2L))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testCancelRegistration() throws Exception {
+        mockMvc.perform(delete("/events/1/registrations")
+                        .header("X-User-Id", 2L))
+                .andExpect(status().isNoContent());
+
+        Mockito.verify(eventRegistrationService).cancelRegistration(1L, 2L);
+    }
+
+    @Test
+    void testStreamEvents() throws Exception {
+        Mockito.when(eventStreamService.subscribe(1L, null)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/events/stream")
+                        .param("eventId", "1")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void testStreamEvents_whenTooManySubscribers_thenReturns503() throws Exception {
+        Mockito.when(eventStreamService.subscribe(null, null))
+                .thenThrow(new ServiceUnavailableException("Too many event stream subscribers, try again later"));
+
+        mockMvc.perform(get("/events/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
     @Test
     void whenNameIsEmpty_thenReturns400() throws Exception {
         EventRequest invalidRequest = new EventRequest(
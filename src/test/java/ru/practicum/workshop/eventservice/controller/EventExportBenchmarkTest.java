@@ -0,0 +1,102 @@
+package ru.practicum.workshop.eventservice.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.workshop.eventservice.EventDataSeeder.deleteEvents;
+import static ru.practicum.workshop.eventservice.EventDataSeeder.evictSecondLevelCache;
+import static ru.practicum.workshop.eventservice.EventDataSeeder.seedEvents;
+
+/**
+ * Exports {@code benchmark.export.rows} events (500k by default) through {@code GET /events/export} over a real HTTP
+ * connection, reading the body line by line, and checks that the heap retained while the export runs stays flat.
+ * The in-memory H2 database of the test profile lives in the same heap, so a small {@code -Xmx} cannot be used to
+ * prove it; instead the heap left after a full GC is sampled every {@link #SAMPLE_EVERY} lines and compared with the
+ * heap before the export. Run with {@code mvn test -Pbenchmark}.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Tag("benchmark")
+@Slf4j
+public class EventExportBenchmarkTest {
+    private static final int ROWS = Integer.getInteger("benchmark.export.rows", 500_000);
+    private static final int SAMPLE_EVERY = 50_000;
+    private static final long MAX_RETAINED_GROWTH_BYTES = 64L * 1024 * 1024;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void seed() {
+        seedEvents(jdbcTemplate, ROWS, 1000);
+        evictSecondLevelCache(entityManagerFactory);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        deleteEvents(jdbcTemplate);
+        evictSecondLevelCache(entityManagerFactory);
+    }
+
+    @Test
+    void export_shouldStreamAllRowsWithFlatHeap() throws Exception {
+        HttpClient httpClient = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/events/export")).build();
+
+        long baseline = retainedHeap();
+        long maxRetained = baseline;
+        long lines = 0;
+        long start = System.nanoTime();
+        HttpResponse<Stream<String>> response = httpClient.send(request, HttpResponse.BodyHandlers.ofLines());
+        assertEquals(HttpStatus.OK.value(), response.statusCode());
+        try (Stream<String> body = response.body()) {
+            Iterator<String> iterator = body.iterator();
+            while (iterator.hasNext()) {
+                iterator.next();
+                lines++;
+                if (lines % SAMPLE_EVERY == 0) {
+                    maxRetained = Math.max(maxRetained, retainedHeap());
+                }
+            }
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        log.info("Exported {} events in {} ms ({} rows/s); retained heap before export {} MB, max during export {} MB",
+                lines, millis, lines * 1000 / Math.max(millis, 1), baseline / (1024 * 1024),
+                maxRetained / (1024 * 1024));
+        assertEquals(ROWS, lines);
+        assertTrue(maxRetained - baseline < MAX_RETAINED_GROWTH_BYTES,
+                () -> "Export retained too much heap, the result is probably being buffered");
+    }
+
+    private static long retainedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,156 @@
+package ru.practicum.workshop.eventservice.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.workshop.eventservice.client.dto.UserDto;
+import ru.practicum.workshop.eventservice.model.EventRegistrationStatus;
+import ru.practicum.workshop.eventservice.repository.EventRegistrationRepository;
+import ru.practicum.workshop.eventservice.repository.EventRepository;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.workshop.eventservice.EventDataSeeder.deleteEvents;
+import static ru.practicum.workshop.eventservice.TestEvents.event;
+
+/**
+ * Sends {@link #REGISTRATIONS} registrations of different users for one event limited to {@link #PARTICIPANT_LIMIT}
+ * places through {@code POST /events/{id}/registrations}, {@link #CLIENTS} at a time, and checks that exactly the
+ * limit is admitted, every other attempt gets 409, and p99 latency stays under {@link #MAX_P99_MS}. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Tag("benchmark")
+@Slf4j
+public class EventRegistrationStressBenchmarkTest {
+    private static final int REGISTRATIONS = 10_000;
+    private static final int PARTICIPANT_LIMIT = 500;
+    private static final int CLIENTS = 200;
+    private static final long MAX_P99_MS = 2_000;
+
+    private static WireMockServer mockUserServer;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventRegistrationRepository registrationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void beforeAll() throws Exception {
+        mockUserServer = new WireMockServer(WireMockConfiguration.wireMockConfig()
+                .dynamicPort()
+                .containerThreads(CLIENTS + 20));
+        mockUserServer.start();
+        mockUserServer.stubFor(get(urlPathMatching("/users/.+"))
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.OK.value())
+                        .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(new ObjectMapper().writeValueAsString(UserDto.builder().id(1L).build()))));
+    }
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("userservice.url", () -> "localhost:" + mockUserServer.port());
+        registry.add("userservice.batch.window", () -> "0");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        deleteEvents(jdbcTemplate);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mockUserServer.stop();
+    }
+
+    @Test
+    void register_underLoad_shouldNeverOversell() throws Exception {
+        Long eventId = eventRepository.save(event(1L)
+                .name("Flash sale")
+                .isLimited(true)
+                .participantLimit(PARTICIPANT_LIMIT)
+                .build()).getId();
+        URI uri = URI.create("http://localhost:" + port + "/events/" + eventId + "/registrations");
+
+        List<Long> latencies = new ArrayList<>(REGISTRATIONS);
+        int admitted = 0;
+        int rejected = 0;
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+             HttpClient httpClient = HttpClient.newHttpClient()) {
+            List<Future<long[]>> responses = new ArrayList<>(REGISTRATIONS);
+            for (int i = 1; i <= REGISTRATIONS; i++) {
+                HttpRequest request = HttpRequest.newBuilder(uri)
+                        .header("X-User-Id", String.valueOf(1000 + i))
+                        .POST(HttpRequest.BodyPublishers.noBody())
+                        .build();
+                responses.add(executor.submit(() -> {
+                    long requestStart = System.nanoTime();
+                    int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    return new long[]{status, (System.nanoTime() - requestStart) / 1_000_000};
+                }));
+            }
+            for (Future<long[]> response : responses) {
+                long[] result = response.get();
+                latencies.add(result[1]);
+                if (result[0] == HttpStatus.CREATED.value()) {
+                    admitted++;
+                } else if (result[0] == HttpStatus.CONFLICT.value()) {
+                    rejected++;
+                }
+            }
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        latencies.sort(Long::compare);
+        long p50 = latencies.get(latencies.size() / 2);
+        long p99 = latencies.get((int) Math.ceil(latencies.size() * 0.99) - 1);
+        log.info("{} registrations from {} clients for {} places in {} ms: {} admitted, {} rejected, p50 {} ms, "
+                + "p99 {} ms", REGISTRATIONS, CLIENTS, PARTICIPANT_LIMIT, millis, admitted, rejected, p50, p99);
+
+        assertEquals(PARTICIPANT_LIMIT, admitted);
+        assertEquals(REGISTRATIONS - PARTICIPANT_LIMIT, rejected);
+        assertEquals(PARTICIPANT_LIMIT, registrationRepository.getRegisteredCount(eventId));
+        assertEquals(PARTICIPANT_LIMIT, registrationRepository.countByEventId(eventId));
+        assertEquals(EventRegistrationStatus.CLOSED, eventRepository.findById(eventId).orElseThrow()
+                .getRegistrationStatus());
+        assertTrue(p99 < MAX_P99_MS, () -> "p99 " + p99 + " ms");
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.workshop.eventservice.controller;
+
+import com.sun.management.UnixOperatingSystemMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Fills this instance with {@value #SUBSCRIBERS} idle {@code GET /events/stream} subscribers over real connections
+ * and checks that ordinary requests are still served: the subscriber cap stays below Tomcat's connection limit, so
+ * the remaining connections are left to the other endpoints.
+ */
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {
+        "event.stream.max-subscribers=" + EventStreamConnectionLimitTest.SUBSCRIBERS,
+        "server.tomcat.max-connections=2200",
+        "event.stream.heartbeat-interval=1h"
+})
+public class EventStreamConnectionLimitTest {
+    static final int SUBSCRIBERS = 2000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void streamAtCapacity_thenOtherEndpointsStillAnswer() throws Exception {
+        // Each subscriber takes a descriptor on both ends of its connection.
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        assumeTrue(os instanceof UnixOperatingSystemMXBean unix
+                && unix.getMaxFileDescriptorCount() - unix.getOpenFileDescriptorCount() > 3L * SUBSCRIBERS,
+                "Not enough file descriptors for " + SUBSCRIBERS + " connections");
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        try {
+            HttpRequest subscribe = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/events/stream"))
+                    .build();
+            for (int i = 0; i < SUBSCRIBERS; i++) {
+                httpClient.sendAsync(subscribe, HttpResponse.BodyHandlers.ofInputStream());
+            }
+            awaitSubscribers(Duration.ofSeconds(60));
+
+            HttpResponse<InputStream> rejected = httpClient.send(subscribe, HttpResponse.BodyHandlers.ofInputStream());
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), rejected.statusCode());
+
+            HttpRequest feed = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/events"))
+                    .timeout(Duration.ofSeconds(5))
+                    .build();
+            for (int i = 0; i < 10; i++) {
+                assertEquals(HttpStatus.OK.value(), httpClient.send(feed, HttpResponse.BodyHandlers.ofString())
+                        .statusCode());
+            }
+        } finally {
+            httpClient.shutdownNow();
+        }
+    }
+
+    private void awaitSubscribers(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        double subscribers = 0;
+        while (System.nanoTime() < deadline) {
+            subscribers = meterRegistry.get("event.stream.subscribers").gauge().value();
+            if (subscribers >= SUBSCRIBERS) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        assertTrue(subscribers >= SUBSCRIBERS, "Only " + subscribers + " subscribers connected");
+    }
+}
@@ -5,9 +5,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.workshop.eventservice.dto.NewOrgTeamMemberDto;
+import ru.practicum.workshop.eventservice.dto.OrgTeamMemberImportResultDto;
 import ru.practicum.workshop.eventservice.dto.PublicOrgTeamMemberDto;
 import ru.practicum.workshop.eventservice.dto.UpdateOrgTeamMemberDto;
 import ru.practicum.workshop.eventservice.model.OrgTeamMember;
@@ -18,8 +20,13 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -157,6 +164,59 @@ public class OrganizingTeamControllerIntegrationTest {
                 .andExpect(status().isBadRequest());
     }
 
+    // Method "addTeamMembers" tests.
+    @Test
+    public void addTeamMembers_whenInputValid_thenReturnResults() throws Exception {
+        List<NewOrgTeamMemberDto> newOrgTeamMemberDtos = List.of(
+                NewOrgTeamMemberDto.builder().eventId(1L).userId(101L).role(OrgTeamMember.Role.EXECUTOR).build(),
+                NewOrgTeamMemberDto.builder().eventId(1L).userId(102L).role(OrgTeamMember.Role.MANAGER).build());
+
+        when(orgTeamMemberService.addTeamMembers(eq(77L), eq(1L), anyList()))
+                .thenReturn(List.of(
+                        new OrgTeamMemberImportResultDto(101L, OrgTeamMember.Role.EXECUTOR,
+                                OrgTeamMemberImportResultDto.Status.ADDED),
+                        new OrgTeamMemberImportResultDto(102L, OrgTeamMember.Role.MANAGER,
+                                OrgTeamMemberImportResultDto.Status.USER_NOT_FOUND)));
+
+        mockMvc.perform(post("/events/1/orgs/batch")
+                        .header("X-User-Id", 77)
+                        .content(objectMapper.writeValueAsString(newOrgTeamMemberDtos))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[0].status", is("ADDED")))
+                .andExpect(jsonPath("$[1].userId", is(102L), Long.class))
+                .andExpect(jsonPath("$[1].status", is("USER_NOT_FOUND")));
+    }
+
+    @Test
+    public void addTeamMembers_whenEmpty_thenThrowException() throws Exception {
+        mockMvc.perform(post("/events/1/orgs/batch")
+                        .header("X-User-Id", 77)
+                        .content("[]")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void addTeamMembers_whenInvalidMember_thenThrowException() throws Exception {
+        List<NewOrgTeamMemberDto> newOrgTeamMemberDtos = List.of(
+                NewOrgTeamMemberDto.builder().eventId(1L).userId(101L).role(OrgTeamMember.Role.EXECUTOR).build(),
+                NewOrgTeamMemberDto.builder().eventId(1L).userId(-1L).role(OrgTeamMember.Role.MANAGER).build());
+
+        mockMvc.perform(post("/events/1/orgs/batch")
+                        .header("X-User-Id", 77)
+                        .content(objectMapper.writeValueAsString(newOrgTeamMemberDtos))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     // Method "updateTeamMemberData" tests.
     @Test
     public void updateTeamMemberData_whenInputValid_thenUpdate() throws Exception {
@@ -316,11 +376,13 @@ public class OrganizingTeamControllerIntegrationTest {
         );
 
         when(orgTeamMemberService.getTeamMembers(any(Long.class))).thenReturn(publicOrgTeamMemberDtos);
+        when(orgTeamMemberService.getTeamVersion(1L)).thenReturn(3L);
 
         mockMvc.perform(get("/events/orgs/{eventId}", 1)
                         .characterEncoding(StandardCharsets.UTF_8)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"team-3\""))
                 .andExpect(jsonPath("$.length()").value(2))
                 .andExpect(jsonPath("$[0].userId").exists())
                 .andExpect(jsonPath("$[0].userId", is(publicOrgTeamMemberDtos.get(0).getUserId()), Long.class))
@@ -333,6 +395,18 @@ public class OrganizingTeamControllerIntegrationTest {
 
     }
 
+    @Test
+    public void getTeamMembers_whenTeamNotModified_thenReturnNotModified() throws Exception {
+        when(orgTeamMemberService.getTeamVersion(1L)).thenReturn(3L);
+
+        mockMvc.perform(get("/events/orgs/{eventId}", 1)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"team-3\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"team-3\""));
+        verify(orgTeamMemberService, never()).getTeamMembers(any(Long.class));
+    }
+
     @Test
     public void getTeamMembers_whenInvalidEventId_thenThrowException() throws Exception {
         mockMvc.perform(get("/events/orgs/{eventId}", 0)
@@ -0,0 +1,15 @@
+package ru.practicum.workshop.eventservice.controller;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=false")
+public class PlatformThreadsLoadBenchmarkTest extends AbstractEventCreationLoadBenchmark {
+
+    @Override
+    void checkResult(int maxInFlight, long p99Millis) {
+        assertTrue(maxInFlight <= TOMCAT_MAX_THREADS);
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.workshop.eventservice.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.workshop.eventservice.repository.EventRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.workshop.eventservice.TestEvents.event;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "event.query-metrics.budgets[EventController.getEvent]=1")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class EndpointQueryMetricsTest {
+    private static final String ENDPOINT = "EventController.getEvent";
+
+    private final MockMvc mockMvc;
+    private final EventRepository eventRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+
+    private Long eventId;
+
+    @BeforeEach
+    void setUp() {
+        eventId = eventRepository.save(event(1L).build()).getId();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void clearDataBase() {
+        eventRepository.deleteAll();
+    }
+
+    private DistributionSummary statements() {
+        return meterRegistry.get("event.endpoint.statements").tag("endpoint", ENDPOINT).summary();
+    }
+
+    private double overBudget() {
+        return meterRegistry.get("event.endpoint.statements.over.budget").tag("endpoint", ENDPOINT).counter().count();
+    }
+
+    @Test
+    void getEvent_thenRecordsStatementsOfRequest() throws Exception {
+        mockMvc.perform(get("/events/{id}", eventId)).andExpect(status().isOk());
+        long requests = statements().count();
+        double total = statements().totalAmount();
+        double overBudget = overBudget();
+        entityManagerFactory.getCache().evictAll();
+
+        mockMvc.perform(get("/events/{id}", eventId)).andExpect(status().isOk());
+
+        assertEquals(requests + 1, statements().count());
+        assertEquals(total + 2, statements().totalAmount());
+        assertEquals(overBudget + 1, overBudget());
+        assertTrue(meterRegistry.get("event.endpoint.statement.time").tag("endpoint", ENDPOINT).timer().count()
+                >= requests + 1);
+    }
+
+    @Test
+    void getEvent_whenCached_thenWithinBudget() throws Exception {
+        mockMvc.perform(get("/events/{id}", eventId)).andExpect(status().isOk());
+        double total = statements().totalAmount();
+        double overBudget = overBudget();
+
+        mockMvc.perform(get("/events/{id}", eventId)).andExpect(status().isOk());
+
+        assertEquals(total, statements().totalAmount());
+        assertEquals(overBudget, overBudget());
+    }
+
+    @Test
+    void statementsOutsideRequests_thenNotRecorded() throws Exception {
+        mockMvc.perform(get("/events/{id}", eventId)).andExpect(status().isOk());
+        long requests = statements().count();
+        double total = statements().totalAmount();
+
+        eventRepository.findAll();
+        eventRepository.count();
+
+        assertEquals(requests, statements().count());
+        assertEquals(total, statements().totalAmount());
+    }
+}
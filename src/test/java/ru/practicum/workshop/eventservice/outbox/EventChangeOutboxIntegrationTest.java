@@ -0,0 +1,157 @@
+package ru.practicum.workshop.eventservice.outbox;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.workshop.eventservice.client.dto.UserDto;
+import ru.practicum.workshop.eventservice.dto.NewOrgTeamMemberDto;
+import ru.practicum.workshop.eventservice.error.ForbiddenException;
+import ru.practicum.workshop.eventservice.model.EventChangeType;
+import ru.practicum.workshop.eventservice.model.OrgTeamMember;
+import ru.practicum.workshop.eventservice.repository.EventRepository;
+import ru.practicum.workshop.eventservice.repository.OrgTeamMemberRepository;
+import ru.practicum.workshop.eventservice.repository.OutboxRecordRepository;
+import ru.practicum.workshop.eventservice.service.EventService;
+import ru.practicum.workshop.eventservice.service.OrgTeamMemberService;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.workshop.eventservice.TestEvents.eventRequest;
+import static ru.practicum.workshop.eventservice.UserMock.setupMockGetUserById;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@TestPropertySource(properties = {
+        "event.outbox.sink=in-memory",
+        "event.outbox.batch-size=2"
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class EventChangeOutboxIntegrationTest {
+    private static final long OWNER_ID = 1L;
+    private static final long MEMBER_ID = 2L;
+
+    private static WireMockServer mockUserServer;
+
+    private final EventService eventService;
+    private final OrgTeamMemberService orgTeamMemberService;
+    private final OutboxRelay outboxRelay;
+    private final InMemoryOutboxSink sink;
+    private final OutboxRecordRepository outboxRecordRepository;
+    private final EventRepository eventRepository;
+    private final OrgTeamMemberRepository orgTeamMemberRepository;
+    private final MeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void beforeAll() throws IOException {
+        mockUserServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        mockUserServer.start();
+        setupMockGetUserById(mockUserServer, OWNER_ID, UserDto.builder().id(OWNER_ID).name("owner").build());
+        setupMockGetUserById(mockUserServer, MEMBER_ID, UserDto.builder().id(MEMBER_ID).name("member").build());
+    }
+
+    @DynamicPropertySource
+    static void setUserServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("userservice.url", () -> "localhost:" + mockUserServer.port());
+    }
+
+    @BeforeEach
+    void clearOutbox() {
+        outboxRecordRepository.deleteAll();
+        sink.drain();
+    }
+
+    @AfterEach
+    void clearDataBase() {
+        orgTeamMemberRepository.deleteAll();
+        eventRepository.deleteAll();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mockUserServer.stop();
+    }
+
+    @Test
+    void eventLifecycle_thenRelaysChangesInOrder() {
+        Long eventId = eventService.createEvent(eventRequest("Created"), OWNER_ID).getId();
+        eventService.updateEvent(eventId, eventRequest("Updated"), OWNER_ID);
+        eventService.deleteEvent(eventId, OWNER_ID);
+
+        assertEquals(3, outboxRelay.relay());
+
+        List<OutboxMessage> messages = sink.drain();
+        assertEquals(List.of(EventChangeType.EVENT_CREATED, EventChangeType.EVENT_UPDATED,
+                        EventChangeType.EVENT_DELETED),
+                messages.stream().map(OutboxMessage::changeType).toList());
+        assertTrue(messages.stream().allMatch(message -> message.eventId().equals(eventId)));
+        assertEquals(0L, messages.get(0).eventVersion());
+        assertEquals(1L, messages.get(1).eventVersion());
+        assertTrue(messages.get(1).payload().contains("\"name\":\"Updated\""));
+        assertNull(messages.get(2).payload());
+        assertEquals(0, outboxRecordRepository.count());
+    }
+
+    @Test
+    void failedChange_thenNoRecord() {
+        Long eventId = eventService.createEvent(eventRequest("Created"), OWNER_ID).getId();
+        outboxRelay.relay();
+        sink.drain();
+
+        assertThrows(ForbiddenException.class,
+                () -> eventService.updateEvent(eventId, eventRequest("Updated"), MEMBER_ID));
+
+        assertEquals(0, outboxRecordRepository.count());
+    }
+
+    @Test
+    void teamChanges_thenRelaysTeamMemberRecords() {
+        Long eventId = eventService.createEvent(eventRequest("Created"), OWNER_ID).getId();
+        orgTeamMemberService.addTeamMember(OWNER_ID, NewOrgTeamMemberDto.builder()
+                .eventId(eventId)
+                .userId(MEMBER_ID)
+                .role(OrgTeamMember.Role.EXECUTOR)
+                .build());
+        orgTeamMemberService.deleteTeamMember(OWNER_ID, eventId, MEMBER_ID);
+
+        outboxRelay.relay();
+
+        List<OutboxMessage> messages = sink.drain();
+        assertEquals(List.of(EventChangeType.EVENT_CREATED, EventChangeType.TEAM_MEMBER_ADDED,
+                        EventChangeType.TEAM_MEMBER_REMOVED),
+                messages.stream().map(OutboxMessage::changeType).toList());
+        assertTrue(messages.get(1).payload().contains("\"userId\":" + MEMBER_ID));
+        // Team changes increment the event version too, so the changes of the event are ordered by it.
+        assertEquals(List.of(0L, 1L, 2L), messages.stream().map(OutboxMessage::eventVersion).toList());
+    }
+
+    @Test
+    void relay_thenRecordsBatchSizeAndLag() {
+        for (int i = 0; i < 3; i++) {
+            eventService.createEvent(eventRequest("Event" + i), OWNER_ID);
+        }
+        long batches = meterRegistry.get("event.outbox.relay.batch.size").summary().count();
+        long lagged = meterRegistry.get("event.outbox.relay.lag").timer().count();
+
+        assertEquals(3, outboxRelay.relay());
+
+        assertEquals(batches + 2, meterRegistry.get("event.outbox.relay.batch.size").summary().count());
+        assertEquals(lagged + 3, meterRegistry.get("event.outbox.relay.lag").timer().count());
+    }
+}
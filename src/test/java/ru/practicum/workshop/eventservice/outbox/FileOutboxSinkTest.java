@@ -0,0 +1,42 @@
+package ru.practicum.workshop.eventservice.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.practicum.workshop.eventservice.model.EventChangeType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileOutboxSinkTest {
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void send_thenAppendsOneJsonLinePerRecord(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("outbox.ndjson");
+        FileOutboxSink sink = new FileOutboxSink(file, objectMapper);
+        LocalDateTime createdDateTime = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+        sink.send(List.of(new OutboxMessage(1L, 10L, EventChangeType.EVENT_CREATED, 0L, createdDateTime,
+                "{\"id\":10,\"name\":\"Event\"}")));
+        sink.send(List.of(new OutboxMessage(2L, 10L, EventChangeType.EVENT_DELETED, 0L, createdDateTime, null)));
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        JsonNode created = objectMapper.readTree(lines.get(0));
+        assertEquals("EVENT_CREATED", created.get("changeType").asText());
+        assertEquals("Event", created.get("payload").get("name").asText());
+        assertEquals("2030-01-01T10:00:00", created.get("createdDateTime").asText());
+        assertTrue(objectMapper.readTree(lines.get(1)).get("payload").isNull());
+    }
+}
@@ -0,0 +1,120 @@
+package ru.practicum.workshop.eventservice.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.workshop.eventservice.model.Event;
+import ru.practicum.workshop.eventservice.model.EventRegistrationStatus;
+import ru.practicum.workshop.eventservice.model.OrgTeamMember;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.workshop.eventservice.EventDataSeeder.deleteEvents;
+import static ru.practicum.workshop.eventservice.EventDataSeeder.evictSecondLevelCache;
+
+/**
+ * Bulk-inserts events with one team member each through JPA, once with JDBC batching switched off for the session
+ * ({@code batch_size=1}, which is what IDENTITY ids forced) and once with the configured batch size.
+ * Run with {@code mvn test -Pbenchmark}; the number of events is set by {@code -Dbenchmark.inserts.rows}.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@Tag("benchmark")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@Slf4j
+public class BulkInsertBenchmarkTest {
+    private static final int ROWS = Integer.getInteger("benchmark.inserts.rows", 20_000);
+    private static final int FLUSH_EVERY = 1000;
+    private static final int BATCH_SIZE = 50;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM organizing_team_members");
+        deleteEvents(jdbcTemplate);
+        evictSecondLevelCache(entityManagerFactory);
+    }
+
+    @Test
+    void batchedInserts_shouldNeedFewerStatements() {
+        insert(BATCH_SIZE);
+        cleanUp();
+
+        Result unbatched = insert(1);
+        cleanUp();
+        Result batched = insert(BATCH_SIZE);
+
+        log.info("Inserted {} events and {} team members: batch_size=1 {} ms ({} statements, {} rows/s), "
+                        + "batch_size={} {} ms ({} statements, {} rows/s)",
+                ROWS, ROWS, unbatched.millis(), unbatched.statements(), unbatched.rowsPerSecond(),
+                BATCH_SIZE, batched.millis(), batched.statements(), batched.rowsPerSecond());
+        assertEquals(ROWS, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM events", Integer.class));
+        assertEquals(ROWS, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM organizing_team_members",
+                Integer.class));
+        assertTrue(batched.statements() * 10 < unbatched.statements());
+    }
+
+    private Result insert(int jdbcBatchSize) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < ROWS; i++) {
+                Event event = Event.builder()
+                        .name("Event" + i)
+                        .description("Description" + i)
+                        .createdDateTime(now)
+                        .startDateTime(now.plusDays(1))
+                        .endDateTime(now.plusDays(2))
+                        .location("Location" + i)
+                        .ownerId((long) (i % 1000) + 1)
+                        .registrationStatus(EventRegistrationStatus.OPEN)
+                        .build();
+                entityManager.persist(event);
+                entityManager.persist(OrgTeamMember.builder()
+                        .event(event)
+                        .userId((long) (i % 1000) + 1001)
+                        .role(OrgTeamMember.Role.EXECUTOR)
+                        .build());
+                if ((i + 1) % FLUSH_EVERY == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        });
+        return new Result(System.nanoTime() - start, statistics.getPrepareStatementCount());
+    }
+
+    private record Result(long nanos, long statements) {
+        long millis() {
+            return nanos / 1_000_000;
+        }
+
+        long rowsPerSecond() {
+            return 2L * ROWS * 1_000_000_000L / nanos;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.workshop.eventservice.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.workshop.eventservice.model.Event;
+import ru.practicum.workshop.eventservice.params.EventCursor;
+import ru.practicum.workshop.eventservice.params.EventSearchParam;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.workshop.eventservice.EventDataSeeder.deleteEvents;
+import static ru.practicum.workshop.eventservice.EventDataSeeder.evictSecondLevelCache;
+import static ru.practicum.workshop.eventservice.EventDataSeeder.seedEvents;
+
+/**
+ * Compares offset and keyset pagination of the event feed on a large table.
+ * Run with {@code mvn test -Pbenchmark}; the table size is set by {@code -Dbenchmark.events.rows}.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@Slf4j
+public class EventPaginationBenchmarkTest {
+    private static final int ROWS = Integer.getInteger("benchmark.events.rows", 1_000_000);
+    private static final int PAGE_SIZE = 20;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int ITERATIONS = 20;
+    private static final Sort FEED_SORT = Sort.by(Sort.Direction.DESC, "createdDateTime");
+
+    private final EventRepository eventRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @BeforeAll
+    void seed() {
+        long start = System.nanoTime();
+        seedEvents(jdbcTemplate, ROWS, 1000);
+        evictSecondLevelCache(entityManagerFactory);
+        log.info("Seeded {} events in {} ms", ROWS, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        deleteEvents(jdbcTemplate);
+        evictSecondLevelCache(entityManagerFactory);
+    }
+
+    @Test
+    void deepPage_keysetShouldCostTheSameAsFirstPage() {
+        int deepPage = ROWS / PAGE_SIZE - 1;
+        List<Event> previousPage = eventRepository.getEvents(offsetParam(deepPage - 1));
+        EventCursor cursor = EventCursor.of(previousPage.get(previousPage.size() - 1));
+
+        List<Long> offsetIds = eventRepository.getEvents(offsetParam(deepPage)).stream().map(Event::getId).toList();
+        List<Long> keysetIds = eventRepository.getEvents(keysetParam(cursor)).stream().map(Event::getId).toList();
+        assertEquals(offsetIds, keysetIds);
+
+        double firstPageMs = measure(offsetParam(0));
+        double offsetDeepPageMs = measure(offsetParam(deepPage));
+        double keysetDeepPageMs = measure(keysetParam(cursor));
+
+        log.info("Rows={}, page size={}: first page {} ms, offset page {} {} ms, keyset page {} {} ms",
+                ROWS, PAGE_SIZE, firstPageMs, deepPage, offsetDeepPageMs, deepPage, keysetDeepPageMs);
+        assertTrue(keysetDeepPageMs < offsetDeepPageMs);
+    }
+
+    private double measure(EventSearchParam param) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            eventRepository.getEvents(param);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            eventRepository.getEvents(param);
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / ITERATIONS;
+    }
+
+    private EventSearchParam offsetParam(int page) {
+        return EventSearchParam.builder()
+                .pageable(PageRequest.of(page, PAGE_SIZE, FEED_SORT))
+                .build();
+    }
+
+    private EventSearchParam keysetParam(EventCursor cursor) {
+        return EventSearchParam.builder()
+                .pageable(PageRequest.of(0, PAGE_SIZE, FEED_SORT))
+                .cursor(cursor)
+                .build();
+    }
+}
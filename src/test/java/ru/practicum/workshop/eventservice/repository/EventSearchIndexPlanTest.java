@@ -0,0 +1,143 @@
+package ru.practicum.workshop.eventservice.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.workshop.eventservice.model.EventRegistrationStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static ru.practicum.workshop.eventservice.EventDataSeeder.deleteEvents;
+import static ru.practicum.workshop.eventservice.EventDataSeeder.evictSecondLevelCache;
+import static ru.practicum.workshop.eventservice.EventDataSeeder.seedEvents;
+
+/**
+ * Runs EXPLAIN for every filter combination the event feed can produce and fails if the plan falls back to a
+ * full table scan. The WHERE clauses mirror {@code CustomizedEventRepositoryImpl.buildPredicate}; keep them in sync
+ * when a filter is added there. The full-text filter ({@code q}) is not covered: its GIN index exists only on
+ * PostgreSQL, and the H2 fallback used here is a substring scan by design.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@Slf4j
+public class EventSearchIndexPlanTest {
+    private static final int ROWS = Integer.getInteger("explain.events.rows", 20_000);
+    private static final List<String> FULL_SCAN_MARKERS = List.of("seq scan", "tablescan");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @BeforeAll
+    void seed() {
+        seedEvents(jdbcTemplate, ROWS, 1000);
+        evictSecondLevelCache(entityManagerFactory);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        deleteEvents(jdbcTemplate);
+        evictSecondLevelCache(entityManagerFactory);
+    }
+
+    static Stream<Arguments> filterCombinations() {
+        List<Arguments> combinations = new ArrayList<>();
+        for (boolean byStatus : new boolean[]{false, true}) {
+            for (boolean byOwner : new boolean[]{false, true}) {
+                for (boolean byCursor : new boolean[]{false, true}) {
+                    combinations.add(Arguments.of(byStatus, byOwner, byCursor));
+                }
+            }
+        }
+        return combinations.stream();
+    }
+
+    @ParameterizedTest(name = "status={0}, owner={1}, cursor={2}")
+    @MethodSource("filterCombinations")
+    void feedQuery_shouldNotScanWholeTable(boolean byStatus, boolean byOwner, boolean byCursor) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (byStatus) {
+            conditions.add("registration_status IN (?)");
+            args.add(EventRegistrationStatus.OPEN.name());
+        }
+        if (byOwner) {
+            conditions.add("owner_id = ?");
+            args.add(1L);
+        }
+        if (byCursor) {
+            LocalDateTime createdDateTime = LocalDateTime.of(2024, 1, 1, 1, 0);
+            conditions.add("created_date_time <= ? AND (created_date_time < ? OR (created_date_time = ? AND id < ?))");
+            args.addAll(List.of(createdDateTime, createdDateTime, createdDateTime, Long.MAX_VALUE));
+        }
+        assertNoFullScan(conditions, "created_date_time DESC, id DESC", args);
+    }
+
+    static Stream<Arguments> calendarCombinations() {
+        List<Arguments> combinations = new ArrayList<>();
+        for (boolean byFrom : new boolean[]{false, true}) {
+            for (boolean byTo : new boolean[]{false, true}) {
+                for (boolean byCursor : new boolean[]{false, true}) {
+                    combinations.add(Arguments.of(byFrom, byTo, byCursor));
+                }
+            }
+        }
+        return combinations.stream();
+    }
+
+    /**
+     * {@code sort=START} with the {@code from}/{@code to} filters. On H2 both bounds are two comparisons, as in the
+     * fallback of {@code event_period_overlaps}; the PostgreSQL GiST index for that case is not covered here.
+     */
+    @ParameterizedTest(name = "from={0}, to={1}, cursor={2}")
+    @MethodSource("calendarCombinations")
+    void calendarQuery_shouldNotScanWholeTable(boolean byFrom, boolean byTo, boolean byCursor) {
+        LocalDateTime from = LocalDateTime.of(2024, 3, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 3, 8, 0, 0);
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (byTo) {
+            conditions.add("start_date_time < ?");
+            args.add(to);
+        }
+        if (byFrom) {
+            conditions.add("end_date_time > ?");
+            args.add(from);
+        }
+        if (byCursor) {
+            conditions.add("start_date_time >= ? AND (start_date_time > ? OR (start_date_time = ? AND id > ?))");
+            args.addAll(List.of(from, from, from, 0L));
+        }
+        assertNoFullScan(conditions, "start_date_time, id", args);
+    }
+
+    private void assertNoFullScan(List<String> conditions, String order, List<Object> args) {
+        String sql = "SELECT * FROM events"
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY " + order + " LIMIT 20";
+
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args.toArray()));
+        log.info("Plan for {}:\n{}", sql, plan);
+
+        String normalizedPlan = plan.toLowerCase(Locale.ROOT);
+        FULL_SCAN_MARKERS.forEach(marker -> assertFalse(normalizedPlan.contains(marker),
+                () -> "Full table scan for " + sql + ":\n" + plan));
+    }
+}
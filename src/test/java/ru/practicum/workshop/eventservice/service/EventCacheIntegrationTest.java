@@ -0,0 +1,207 @@
+package ru.practicum.workshop.eventservice.service;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.workshop.eventservice.client.dto.UserDto;
+import ru.practicum.workshop.eventservice.dto.EventLookupResponse;
+import ru.practicum.workshop.eventservice.dto.EventRequest;
+import ru.practicum.workshop.eventservice.dto.EventResponse;
+import ru.practicum.workshop.eventservice.error.NotFoundException;
+import ru.practicum.workshop.eventservice.model.EventRegistrationStatus;
+import ru.practicum.workshop.eventservice.params.EventSearchParam;
+import ru.practicum.workshop.eventservice.repository.EventRepository;
+import ru.practicum.workshop.eventservice.repository.OrgTeamMemberRepository;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.configureFor;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.workshop.eventservice.UserMock.setupMockGetUserById;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@Slf4j
+public class EventCacheIntegrationTest {
+
+    private final EventService eventService;
+    private final EventRepository eventRepository;
+    private final OrgTeamMemberRepository orgTeamMemberRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+    private static WireMockServer mockUserServer;
+
+    private final long userId = 100L;
+    private Statistics statistics;
+    private RegionFactory regionFactory;
+
+    @BeforeAll
+    static void beforeAll() {
+        mockUserServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        mockUserServer.start();
+        log.info("Mock-server started on port {}.", mockUserServer.port());
+        configureFor("localhost", mockUserServer.port());
+    }
+
+    @DynamicPropertySource
+    static void setUserServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("userservice.url", () -> "localhost:" + mockUserServer.port());
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        setupMockGetUserById(mockUserServer, userId, UserDto.builder()
+                .id(userId)
+                .email("email@email.com")
+                .name("name")
+                .build());
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        regionFactory = sessionFactory.unwrap(SessionFactoryImplementor.class).getCache().getRegionFactory();
+    }
+
+    @AfterEach
+    void clearDataBase() {
+        orgTeamMemberRepository.deleteAll();
+        eventRepository.deleteAll();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mockUserServer.stop();
+    }
+
+    private EventRequest eventRequest(String name) {
+        return new EventRequest(
+                name,
+                "Description",
+                LocalDateTime.of(2024, 12, 1, 10, 0),
+                LocalDateTime.of(2024, 12, 1, 12, 0),
+                "Online",
+                EventRegistrationStatus.OPEN,
+                false,
+                null
+        );
+    }
+
+    private EventSearchParam firstPageParam() {
+        return EventSearchParam.builder()
+                .pageable(PageRequest.of(0, 10))
+                .ownerId(userId)
+                .build();
+    }
+
+    /**
+     * Cache entries are only readable by sessions started after the writing one; don't let them share a tick of the
+     * region factory's clock.
+     */
+    private void waitForNextCacheTimestamp() {
+        long written = regionFactory.nextTimestamp();
+        while (regionFactory.nextTimestamp() <= written) {
+            Thread.onSpinWait();
+        }
+    }
+
+    @Test
+    void getEvent_whenCached_thenDoesNotQueryDatabase() {
+        EventResponse event = eventService.createEvent(eventRequest("Cached Event"), userId);
+        waitForNextCacheTimestamp();
+        eventService.getEvent(event.getId(), userId);
+        waitForNextCacheTimestamp();
+
+        statistics.clear();
+        EventResponse cachedEvent = eventService.getEvent(event.getId(), userId);
+
+        assertEquals("Cached Event", cachedEvent.getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("events").getHitCount());
+        assertNotNull(meterRegistry.find("hibernate.second.level.cache.requests")
+                .tags("region", "events", "result", "hit")
+                .functionCounter());
+    }
+
+    @Test
+    void updateEvent_thenCachedEventIsReplaced() {
+        EventResponse event = eventService.createEvent(eventRequest("Cached Event"), userId);
+        eventService.getEvent(event.getId(), userId);
+
+        eventService.updateEvent(event.getId(), eventRequest("Updated Event"), userId);
+
+        assertEquals("Updated Event", eventService.getEvent(event.getId(), userId).getName());
+    }
+
+    @Test
+    void deleteEvent_thenCachedEventIsEvicted() {
+        EventResponse event = eventService.createEvent(eventRequest("Cached Event"), userId);
+        eventService.getEvent(event.getId(), userId);
+
+        eventService.deleteEvent(event.getId(), userId);
+
+        assertThrows(NotFoundException.class, () -> eventService.getEvent(event.getId(), userId));
+    }
+
+    @Test
+    void lookupEvents_thenOneQueryForUncachedEventsAndNoneOnceCached() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            ids.add(eventService.createEvent(eventRequest("Event" + i), userId).getId());
+        }
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        waitForNextCacheTimestamp();
+
+        statistics.clear();
+        EventLookupResponse response = eventService.lookupEvents(ids, userId);
+        long uncachedStatements = statistics.getPrepareStatementCount();
+        waitForNextCacheTimestamp();
+        statistics.clear();
+        eventService.lookupEvents(ids, userId);
+
+        assertEquals(100, response.getEvents().size());
+        assertEquals(1, uncachedStatements);
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getEvents_firstPage_thenServedFromQueryCacheUntilEventsChange() {
+        eventService.createEvent(eventRequest("First Event"), userId);
+        waitForNextCacheTimestamp();
+        eventService.getEvents(firstPageParam());
+        waitForNextCacheTimestamp();
+
+        statistics.clear();
+        List<EventResponse> cachedEvents = eventService.getEvents(firstPageParam());
+
+        assertEquals(1, cachedEvents.size());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        eventService.createEvent(eventRequest("Second Event"), userId);
+
+        assertEquals(2, eventService.getEvents(firstPageParam()).size());
+    }
+}
@@ -0,0 +1,123 @@
+package ru.practicum.workshop.eventservice.service;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.workshop.eventservice.dto.EventRequest;
+import ru.practicum.workshop.eventservice.dto.EventResponse;
+import ru.practicum.workshop.eventservice.error.ConflictException;
+import ru.practicum.workshop.eventservice.error.PreconditionFailedException;
+import ru.practicum.workshop.eventservice.mapper.EventMapper;
+import ru.practicum.workshop.eventservice.model.Event;
+import ru.practicum.workshop.eventservice.repository.EventRepository;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static ru.practicum.workshop.eventservice.TestEvents.event;
+
+/**
+ * An update that loses the optimistic lock: while the update under test is being applied, after it has read the
+ * event and before it is flushed, another update of the same event commits from another thread.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class EventConcurrentUpdateTest {
+    private static final long OWNER_ID = 1L;
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+    private final EventService eventService;
+    private final EventRepository eventRepository;
+
+    @SpyBean
+    private EventMapper eventMapper;
+
+    private Long eventId;
+
+    @BeforeEach
+    void setUp() {
+        eventId = eventRepository.save(event(OWNER_ID)
+                .startDateTime(START)
+                .endDateTime(START.plusHours(1))
+                .isLimited(true)
+                .participantLimit(10)
+                .build()).getId();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        eventRepository.deleteAll();
+    }
+
+    private EventRequest currentRequest(Consumer<EventRequest> change) {
+        EventRequest request = eventMapper.toRequest(eventService.getEventInternal(eventId));
+        change.accept(request);
+        return request;
+    }
+
+    /**
+     * Commits {@code concurrentChange} once, from another thread, while the next update is between reading the event
+     * and flushing it.
+     */
+    private void interfereOnce(Consumer<EventRequest> concurrentChange) {
+        EventRequest concurrent = currentRequest(concurrentChange);
+        AtomicBoolean interfered = new AtomicBoolean();
+        Mockito.doAnswer(invocation -> {
+            if (interfered.compareAndSet(false, true)) {
+                CompletableFuture.runAsync(() -> eventService.updateEvent(eventId, concurrent, OWNER_ID)).join();
+            }
+            return invocation.callRealMethod();
+        }).when(eventMapper).updateEvent(any(), any());
+    }
+
+    @Test
+    void unconditionalUpdate_whenDifferentFieldsChangedConcurrently_thenMerges() {
+        EventRequest request = currentRequest(r -> r.setName("updated name"));
+        interfereOnce(r -> r.setLocation("concurrent location"));
+
+        EventResponse response = eventService.updateEvent(eventId, request, OWNER_ID);
+
+        assertEquals("updated name", response.getName());
+        assertEquals("concurrent location", response.getLocation());
+        Event event = eventService.getEventInternal(eventId);
+        assertEquals("updated name", event.getName());
+        assertEquals("concurrent location", event.getLocation());
+        assertEquals(2L, event.getVersion());
+    }
+
+    @Test
+    void unconditionalUpdate_whenSameFieldChangedConcurrently_thenConflict() {
+        EventRequest request = currentRequest(r -> r.setName("updated name"));
+        interfereOnce(r -> r.setName("concurrent name"));
+
+        assertThrows(ConflictException.class, () -> eventService.updateEvent(eventId, request, OWNER_ID));
+
+        assertEquals("concurrent name", eventService.getEventInternal(eventId).getName());
+    }
+
+    @Test
+    void conditionalUpdate_whenEventChangedAfterIfMatchCheck_thenPreconditionFailed() {
+        EventRequest request = currentRequest(r -> r.setName("updated name"));
+        interfereOnce(r -> r.setLocation("concurrent location"));
+
+        assertThrows(PreconditionFailedException.class,
+                () -> eventService.updateEvent(eventId, request, OWNER_ID, 0L));
+
+        Event event = eventService.getEventInternal(eventId);
+        assertEquals("name", event.getName());
+        assertEquals("concurrent location", event.getLocation());
+        assertEquals(1L, event.getVersion());
+    }
+}
@@ -0,0 +1,191 @@
+package ru.practicum.workshop.eventservice.service;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import lombok.RequiredArgsConstructor;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.workshop.eventservice.error.ForbiddenException;
+import ru.practicum.workshop.eventservice.error.UserServiceException;
+import ru.practicum.workshop.eventservice.repository.EventRepository;
+import ru.practicum.workshop.eventservice.repository.OutboxRecordRepository;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.workshop.eventservice.TestEvents.eventRequest;
+
+/**
+ * Event creation with a User Service that answers after {@value #REMOTE_MS} ms and a database where each of the two
+ * INSERTs of a creation (the event and its outbox record) takes {@value #INSERT_MS} ms: overlapped, the two take about
+ * {@value #REMOTE_MS} ms rather than their sum.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@TestPropertySource(properties = "event.create.user-lookup-timeout=1s")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class EventCreationLatencyTest {
+    private static final int REMOTE_MS = 400;
+    private static final int INSERT_MS = 150;
+    private static final int LOCAL_MS = 2 * INSERT_MS;
+
+    private static WireMockServer mockUserServer;
+
+    private final EventService eventService;
+    private final EventRepository eventRepository;
+    private final OutboxRecordRepository outboxRecordRepository;
+
+    private long nextUserId = 1;
+
+    /**
+     * Slows down the INSERTs of a creation where they really run, in the JDBC driver, so the test also catches them
+     * being deferred to the commit.
+     */
+    @TestConfiguration
+    static class SlowInsertsConfiguration {
+        @Bean
+        static BeanPostProcessor slowInsertsDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource) {
+                        return ProxyDataSourceBuilder.create(dataSource)
+                                .name(beanName)
+                                .listener(new SlowInsertsListener())
+                                .build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    static class SlowInsertsListener implements QueryExecutionListener {
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            for (QueryInfo queryInfo : queryInfoList) {
+                String query = queryInfo.getQuery().toLowerCase(Locale.ROOT);
+                if (query.startsWith("insert into events ") || query.startsWith("insert into event_outbox ")) {
+                    try {
+                        Thread.sleep(INSERT_MS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+    }
+
+    @BeforeAll
+    static void beforeAll() {
+        mockUserServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        mockUserServer.start();
+        mockUserServer.stubFor(get(urlPathMatching("/users/.+"))
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.OK.value())
+                        .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .withBody("{\"id\":1,\"name\":\"name\"}")
+                        .withFixedDelay(REMOTE_MS)));
+    }
+
+    @DynamicPropertySource
+    static void setUserServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("userservice.url", () -> "localhost:" + mockUserServer.port());
+    }
+
+    @AfterEach
+    void clearDataBase() {
+        outboxRecordRepository.deleteAll();
+        eventRepository.deleteAll();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mockUserServer.stop();
+    }
+
+    /**
+     * Creates an event by a requester User Service has not been asked about yet, so that the lookup is remote.
+     */
+    private long timeCreateEvent() {
+        long requesterId = nextUserId++;
+        long started = System.nanoTime();
+        eventService.createEvent(eventRequest("name"), requesterId);
+        return Duration.ofNanos(System.nanoTime() - started).toMillis();
+    }
+
+    @Test
+    void createEvent_thenLookupOverlapsInserts() {
+        // The first creation also opens the connection to User Service and warms up the code path.
+        timeCreateEvent();
+
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            fastest = Math.min(fastest, timeCreateEvent());
+        }
+
+        assertTrue(fastest >= REMOTE_MS, "Creation cannot be faster than the lookup: " + fastest + " ms");
+        assertTrue(fastest < REMOTE_MS + LOCAL_MS, "Lookup and INSERTs did not overlap: " + fastest + " ms");
+    }
+
+    @Test
+    void createEvent_whenRequesterUnknown_thenRollsBack() {
+        mockUserServer.stubFor(get(urlEqualTo("/users/1000"))
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.NOT_FOUND.value())
+                        .withFixedDelay(REMOTE_MS)));
+
+        assertThrows(ForbiddenException.class, () -> eventService.createEvent(eventRequest("name"), 1000L));
+
+        assertEquals(0, eventRepository.count());
+        assertEquals(0, outboxRecordRepository.count());
+    }
+
+    @Test
+    void createEvent_whenLookupOutlastsTimeout_thenFailsWithoutWaitingForIt() {
+        mockUserServer.stubFor(get(urlEqualTo("/users/2000"))
+                .willReturn(aResponse()
+                        .withStatus(HttpStatus.OK.value())
+                        .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .withBody("{\"id\":2000,\"name\":\"name\"}")
+                        .withFixedDelay(1500)));
+
+        long started = System.nanoTime();
+        assertThrows(UserServiceException.class, () -> eventService.createEvent(eventRequest("name"), 2000L));
+        long elapsed = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+        assertTrue(elapsed < 1500, "Creation waited for the lookup past its timeout: " + elapsed + " ms");
+        assertEquals(0, eventRepository.count());
+        assertEquals(0, outboxRecordRepository.count());
+    }
+}
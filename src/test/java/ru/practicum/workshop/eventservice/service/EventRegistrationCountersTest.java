@@ -0,0 +1,193 @@
+package ru.practicum.workshop.eventservice.service;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.workshop.eventservice.client.dto.UserDto;
+import ru.practicum.workshop.eventservice.error.ConflictException;
+import ru.practicum.workshop.eventservice.model.EventRegistrationStatus;
+import ru.practicum.workshop.eventservice.repository.EventRegistrationRepository;
+import ru.practicum.workshop.eventservice.repository.EventRepository;
+import ru.practicum.workshop.eventservice.service.impl.EventCapacityCounters;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.workshop.eventservice.TestEvents.event;
+import static ru.practicum.workshop.eventservice.UserMock.setupMockGetUserById;
+
+/**
+ * Registration with {@code event.registration.counters.enabled}. Places are written back only when a block runs out
+ * or on demand, the periodic write-back being set far beyond the length of the test.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@TestPropertySource(properties = {
+        "event.registration.counters.enabled=true",
+        "event.registration.counters.block-size=3",
+        "event.registration.counters.flush-interval=1h"
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class EventRegistrationCountersTest {
+    private static final int USERS = 6;
+
+    private static WireMockServer mockUserServer;
+
+    private final EventRegistrationService registrationService;
+    private final EventService eventService;
+    private final EventCapacityCounters capacityCounters;
+    private final EventRepository eventRepository;
+    private final EventRegistrationRepository registrationRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void beforeAll() throws IOException {
+        mockUserServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        mockUserServer.start();
+        for (long userId = 1; userId <= USERS; userId++) {
+            setupMockGetUserById(mockUserServer, userId, UserDto.builder().id(userId).name("name").build());
+        }
+    }
+
+    @DynamicPropertySource
+    static void setUserServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("userservice.url", () -> "localhost:" + mockUserServer.port());
+    }
+
+    @AfterEach
+    void clearDataBase() {
+        registrationRepository.deleteAll();
+        eventRepository.deleteAll();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mockUserServer.stop();
+    }
+
+    private Long createEvent(int participantLimit) {
+        return eventRepository.save(event(1L)
+                .isLimited(true)
+                .participantLimit(participantLimit)
+                .build()).getId();
+    }
+
+    private int getReservedCount(Long eventId) {
+        return jdbcTemplate.queryForObject("SELECT reserved_count FROM events WHERE id = ?", Integer.class, eventId);
+    }
+
+    @Test
+    void register_untilFull_thenWritesBackAndClosesRegistration() {
+        Long eventId = createEvent(5);
+
+        for (long userId = 1; userId <= 3; userId++) {
+            registrationService.register(eventId, userId);
+        }
+        assertEquals(3, registrationRepository.getRegisteredCount(eventId));
+        assertEquals(EventRegistrationStatus.OPEN, eventService.getEventInternal(eventId).getRegistrationStatus());
+
+        registrationService.register(eventId, 4L);
+        assertEquals(3, registrationRepository.getRegisteredCount(eventId));
+        assertEquals(2, getReservedCount(eventId));
+
+        registrationService.register(eventId, 5L);
+        assertEquals(5, registrationRepository.getRegisteredCount(eventId));
+        assertEquals(0, getReservedCount(eventId));
+        assertEquals(EventRegistrationStatus.CLOSED, eventService.getEventInternal(eventId).getRegistrationStatus());
+        assertThrows(ConflictException.class, () -> registrationService.register(eventId, 6L));
+    }
+
+    @Test
+    void register_twice_thenGivesPlaceBack() {
+        Long eventId = createEvent(5);
+        registrationService.register(eventId, 1L);
+
+        assertThrows(DataIntegrityViolationException.class, () -> registrationService.register(eventId, 1L));
+        capacityCounters.release(eventId);
+
+        assertEquals(1, registrationRepository.getRegisteredCount(eventId));
+        assertEquals(0, getReservedCount(eventId));
+    }
+
+    @Test
+    void cancelRegistration_thenPlaceStaysReservedUntilReleased() {
+        Long eventId = createEvent(5);
+        registrationService.register(eventId, 1L);
+        registrationService.register(eventId, 2L);
+
+        registrationService.cancelRegistration(eventId, 1L);
+        capacityCounters.flush(eventId);
+        assertEquals(1, registrationRepository.getRegisteredCount(eventId));
+        assertEquals(2, getReservedCount(eventId));
+
+        capacityCounters.release(eventId);
+        assertEquals(1, registrationRepository.getRegisteredCount(eventId));
+        assertEquals(0, getReservedCount(eventId));
+        assertEquals(1, registrationRepository.countByEventId(eventId));
+    }
+
+    @Test
+    void takePlace_concurrently_thenNeverExceedsLimit() throws Exception {
+        int limit = 100;
+        Long eventId = createEvent(limit);
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<Integer>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < 16; i++) {
+                futures.add(executor.submit(() -> {
+                    int taken = 0;
+                    while (capacityCounters.takePlace(eventId)) {
+                        capacityCounters.confirmPlace(eventId);
+                        taken++;
+                    }
+                    return taken;
+                }));
+            }
+            int taken = 0;
+            for (Future<Integer> future : futures) {
+                taken += future.get(30, TimeUnit.SECONDS);
+            }
+            assertEquals(limit, taken);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        capacityCounters.release(eventId);
+        assertEquals(limit, registrationRepository.getRegisteredCount(eventId));
+        assertEquals(0, getReservedCount(eventId));
+    }
+
+    @Test
+    void reconcile_thenRecountsPlacesNotWrittenBack() {
+        Long eventId = createEvent(5);
+        registrationService.register(eventId, 1L);
+        registrationService.register(eventId, 2L);
+        assertEquals(0, registrationRepository.getRegisteredCount(eventId));
+        assertEquals(3, getReservedCount(eventId));
+
+        assertEquals(1, registrationRepository.reconcileReservedPlaces());
+
+        assertEquals(2, registrationRepository.getRegisteredCount(eventId));
+        assertEquals(0, getReservedCount(eventId));
+    }
+}
@@ -0,0 +1,129 @@
+package ru.practicum.workshop.eventservice.service;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.workshop.eventservice.client.dto.UserDto;
+import ru.practicum.workshop.eventservice.dto.EventRegistrationDto;
+import ru.practicum.workshop.eventservice.error.ConflictException;
+import ru.practicum.workshop.eventservice.error.NotFoundException;
+import ru.practicum.workshop.eventservice.model.Event;
+import ru.practicum.workshop.eventservice.model.EventRegistrationStatus;
+import ru.practicum.workshop.eventservice.repository.EventRegistrationRepository;
+import ru.practicum.workshop.eventservice.repository.EventRepository;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.workshop.eventservice.TestEvents.event;
+import static ru.practicum.workshop.eventservice.UserMock.setupMockGetUserById;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class EventRegistrationServiceTest {
+    private static WireMockServer mockUserServer;
+
+    private final EventRegistrationService registrationService;
+    private final EventService eventService;
+    private final EventRepository eventRepository;
+    private final EventRegistrationRepository registrationRepository;
+
+    @BeforeAll
+    static void beforeAll() throws IOException {
+        mockUserServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        mockUserServer.start();
+        for (long userId = 1; userId <= 3; userId++) {
+            setupMockGetUserById(mockUserServer, userId, UserDto.builder().id(userId).name("name").build());
+        }
+    }
+
+    @DynamicPropertySource
+    static void setUserServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("userservice.url", () -> "localhost:" + mockUserServer.port());
+    }
+
+    @AfterEach
+    void clearDataBase() {
+        registrationRepository.deleteAll();
+        eventRepository.deleteAll();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mockUserServer.stop();
+    }
+
+    private Long createEvent(boolean isLimited, Integer participantLimit) {
+        return eventRepository.save(event(1L)
+                .isLimited(isLimited)
+                .participantLimit(participantLimit)
+                .build()).getId();
+    }
+
+    @Test
+    void register_untilFull_thenClosesRegistration() {
+        Long eventId = createEvent(true, 2);
+        Long version = eventService.getEventVersion(eventId).version();
+
+        EventRegistrationDto registration = registrationService.register(eventId, 1L);
+        registrationService.register(eventId, 2L);
+
+        assertEquals(eventId, registration.getEventId());
+        assertEquals(1L, registration.getUserId());
+        assertEquals(2, registrationRepository.getRegisteredCount(eventId));
+        Event event = eventService.getEventInternal(eventId);
+        assertEquals(EventRegistrationStatus.CLOSED, event.getRegistrationStatus());
+        assertEquals(version + 1, event.getVersion());
+        assertThrows(ConflictException.class, () -> registrationService.register(eventId, 3L));
+        assertEquals(2, registrationRepository.countByEventId(eventId));
+    }
+
+    @Test
+    void register_twice_thenThrowsAndKeepsOnePlace() {
+        Long eventId = createEvent(true, 10);
+        registrationService.register(eventId, 1L);
+
+        assertThrows(DataIntegrityViolationException.class, () -> registrationService.register(eventId, 1L));
+        assertEquals(1, registrationRepository.getRegisteredCount(eventId));
+    }
+
+    @Test
+    void register_forUnlimitedEvent_thenStaysOpen() {
+        Long eventId = createEvent(false, null);
+
+        registrationService.register(eventId, 1L);
+        registrationService.register(eventId, 2L);
+
+        assertEquals(2, registrationRepository.getRegisteredCount(eventId));
+        assertEquals(EventRegistrationStatus.OPEN, eventService.getEventInternal(eventId).getRegistrationStatus());
+    }
+
+    @Test
+    void register_whenEventNotExists_thenThrowsNotFound() {
+        assertThrows(NotFoundException.class, () -> registrationService.register(Long.MAX_VALUE, 1L));
+    }
+
+    @Test
+    void cancelRegistration_thenReleasesPlace() {
+        Long eventId = createEvent(true, 10);
+        registrationService.register(eventId, 1L);
+
+        registrationService.cancelRegistration(eventId, 1L);
+
+        assertEquals(0, registrationRepository.getRegisteredCount(eventId));
+        assertEquals(0, registrationRepository.countByEventId(eventId));
+        assertThrows(NotFoundException.class, () -> registrationService.cancelRegistration(eventId, 1L));
+    }
+}
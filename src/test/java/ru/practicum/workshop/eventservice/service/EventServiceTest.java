@@ -1,5 +1,6 @@
 package ru.practicum.workshop.eventservice.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
 import lombok.RequiredArgsConstructor;
@@ -11,23 +12,34 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.workshop.eventservice.dto.EventLookupResponse;
+import ru.practicum.workshop.eventservice.dto.EventPage;
 import ru.practicum.workshop.eventservice.dto.EventRequest;
 import ru.practicum.workshop.eventservice.dto.EventResponse;
 import ru.practicum.workshop.eventservice.client.dto.UserDto;
 import ru.practicum.workshop.eventservice.error.BadRequest;
 import ru.practicum.workshop.eventservice.error.ForbiddenException;
 import ru.practicum.workshop.eventservice.error.NotFoundException;
+import ru.practicum.workshop.eventservice.error.PreconditionFailedException;
 import ru.practicum.workshop.eventservice.model.EventRegistrationStatus;
+import ru.practicum.workshop.eventservice.model.EventVersion;
+import ru.practicum.workshop.eventservice.params.EventCursor;
+import ru.practicum.workshop.eventservice.params.EventCursorCodec;
 import ru.practicum.workshop.eventservice.params.EventSearchParam;
+import ru.practicum.workshop.eventservice.params.EventSort;
 import ru.practicum.workshop.eventservice.repository.EventRepository;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
@@ -43,6 +55,8 @@ public class EventServiceTest {
 
     private final EventService eventService;
     private final EventRepository eventRepository;
+    private final ObjectMapper objectMapper;
+    private final EventCursorCodec cursorCodec;
     private EventRequest validEventRequest;
     private static WireMockServer mockUserServer;
 
@@ -123,6 +137,27 @@ public class EventServiceTest {
         assertEquals("New Location", updatedEvent.getLocation());
     }
 
+    @Test
+    void updateEvent_shouldIncrementVersionAndRejectStaleExpectedVersion() {
+        EventResponse event = eventService.createEvent(validEventRequest, userId);
+        EventVersion created = eventService.getEventVersion(event.getId());
+        assertEquals(0L, created.version());
+        assertEquals(userId, created.ownerId());
+
+        validEventRequest.setName("Updated Event");
+        EventVersion updated = eventService.updateEvent(event.getId(), validEventRequest, userId, 0L).getVersion();
+
+        assertEquals(1L, updated.version());
+        assertEquals(1L, eventService.getEventVersion(event.getId()).version());
+        assertThrows(PreconditionFailedException.class,
+                () -> eventService.updateEvent(event.getId(), validEventRequest, userId, 0L));
+    }
+
+    @Test
+    void getEventVersion_shouldThrowNotFoundException() {
+        assertThrows(NotFoundException.class, () -> eventService.getEventVersion(999L));
+    }
+
     @Test
     void updateEvent_shouldThrowForbiddenException() {
         EventResponse event = eventService.createEvent(validEventRequest, userId);
@@ -341,6 +376,181 @@ public class EventServiceTest {
         assertTrue(expectedIds.containsAll(resultIds));
     }
 
+    @Test
+    void getEventPage_withCursor_shouldContinueWhereOffsetPageEnded() throws IOException {
+        userDto = createUserDto(++userId);
+        setupMockGetUserById(mockUserServer, userId, userDto);
+        List<Long> createdIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            createdIds.add(eventService.createEvent(validEventRequest, userId).getId());
+        }
+
+        EventPage firstPage = eventService.getEventPage(EventSearchParam.builder()
+                .pageable(PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "createdDateTime")))
+                .ownerId(userId)
+                .build());
+        EventPage secondPage = eventService.getEventPage(EventSearchParam.builder()
+                .pageable(PageRequest.of(0, 2))
+                .ownerId(userId)
+                .cursor(cursorCodec.decode(firstPage.getNextCursor()))
+                .build());
+        EventPage lastPage = eventService.getEventPage(EventSearchParam.builder()
+                .pageable(PageRequest.of(0, 2))
+                .ownerId(userId)
+                .cursor(cursorCodec.decode(secondPage.getNextCursor()))
+                .build());
+
+        List<Long> resultIds = new ArrayList<>();
+        List.of(firstPage, secondPage, lastPage)
+                .forEach(page -> page.getEvents().forEach(event -> resultIds.add(event.getId())));
+
+        Collections.reverse(createdIds);
+        assertEquals(createdIds, resultIds);
+        assertNull(lastPage.getNextCursor());
+    }
+
+    @Test
+    void getEvents_summary_shouldOmitDescriptionOnly() throws IOException {
+        userDto = createUserDto(++userId);
+        setupMockGetUserById(mockUserServer, userId, userDto);
+        EventResponse created = eventService.createEvent(validEventRequest, userId);
+
+        EventSearchParam.EventSearchParamBuilder param = EventSearchParam.builder()
+                .pageable(PageRequest.of(0, 1))
+                .ownerId(userId);
+        EventResponse full = eventService.getEvents(param.build()).get(0);
+        EventResponse summary = eventService.getEvents(param.summary(true).build()).get(0);
+
+        assertEquals(created.getId(), full.getId());
+        assertEquals(validEventRequest.getDescription(), full.getDescription());
+        assertNull(full.getCreatedDateTime());
+        assertNull(summary.getDescription());
+        full.setDescription(null);
+        assertEquals(full, summary);
+    }
+
+    @Test
+    void getEventPage_withText_shouldRankNameMatchesFirst() throws IOException {
+        userDto = createUserDto(++userId);
+        setupMockGetUserById(mockUserServer, userId, userDto);
+        EventResponse inDescription = eventService.createEvent(new EventRequest("Meetup", "Kotlin and Java talks",
+                LocalDateTime.of(2024, 12, 1, 10, 0), LocalDateTime.of(2024, 12, 1, 12, 0), "Online",
+                EventRegistrationStatus.OPEN, false, null), userId);
+        EventResponse inName = eventService.createEvent(new EventRequest("Java Conference", "Talks",
+                LocalDateTime.of(2024, 12, 1, 10, 0), LocalDateTime.of(2024, 12, 1, 12, 0), "Online",
+                EventRegistrationStatus.OPEN, false, null), userId);
+        eventService.createEvent(validEventRequest, userId);
+
+        EventPage page = eventService.getEventPage(EventSearchParam.builder()
+                .pageable(PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "createdDateTime")))
+                .ownerId(userId)
+                .text("java")
+                .build());
+
+        assertEquals(List.of(inName.getId(), inDescription.getId()),
+                page.getEvents().stream().map(EventResponse::getId).toList());
+        assertNull(page.getNextCursor());
+    }
+
+    private EventResponse createEventStartingAt(LocalDateTime start) {
+        return eventService.createEvent(new EventRequest("Event at " + start, "Description", start,
+                start.plusHours(2), "Online", EventRegistrationStatus.OPEN, false, null), userId);
+    }
+
+    @Test
+    void getEventPage_withPeriod_shouldReturnOverlappingEventsSoonestFirst() throws IOException {
+        userDto = createUserDto(++userId);
+        setupMockGetUserById(mockUserServer, userId, userDto);
+        EventResponse third = createEventStartingAt(LocalDateTime.of(2024, 12, 3, 10, 0));
+        EventResponse first = createEventStartingAt(LocalDateTime.of(2024, 12, 1, 10, 0));
+        EventResponse second = createEventStartingAt(LocalDateTime.of(2024, 12, 2, 10, 0));
+
+        EventPage overlapping = eventService.getEventPage(EventSearchParam.builder()
+                .pageable(PageRequest.of(0, 10, EventSort.START.toSort()))
+                .ownerId(userId)
+                .from(LocalDateTime.of(2024, 12, 1, 11, 0))
+                .to(LocalDateTime.of(2024, 12, 2, 11, 0))
+                .sort(EventSort.START)
+                .build());
+        EventPage fromOnly = eventService.getEventPage(EventSearchParam.builder()
+                .pageable(PageRequest.of(0, 10, EventSort.START.toSort()))
+                .ownerId(userId)
+                .from(LocalDateTime.of(2024, 12, 2, 12, 0))
+                .sort(EventSort.START)
+                .build());
+
+        assertEquals(List.of(first.getId(), second.getId()),
+                overlapping.getEvents().stream().map(EventResponse::getId).toList());
+        assertEquals(List.of(third.getId()), fromOnly.getEvents().stream().map(EventResponse::getId).toList());
+    }
+
+    @Test
+    void getEventPage_sortedByStart_shouldContinueWithCursor() throws IOException {
+        userDto = createUserDto(++userId);
+        setupMockGetUserById(mockUserServer, userId, userDto);
+        EventResponse third = createEventStartingAt(LocalDateTime.of(2024, 12, 3, 10, 0));
+        EventResponse first = createEventStartingAt(LocalDateTime.of(2024, 12, 1, 10, 0));
+        EventResponse second = createEventStartingAt(LocalDateTime.of(2024, 12, 2, 10, 0));
+
+        List<Long> resultIds = new ArrayList<>();
+        EventCursor cursor = null;
+        do {
+            EventPage page = eventService.getEventPage(EventSearchParam.builder()
+                    .pageable(PageRequest.of(0, 1, EventSort.START.toSort()))
+                    .ownerId(userId)
+                    .cursor(cursor)
+                    .sort(EventSort.START)
+                    .build());
+            page.getEvents().forEach(event -> resultIds.add(event.getId()));
+            cursor = page.getNextCursor() != null ? cursorCodec.decode(page.getNextCursor()) : null;
+        } while (cursor != null);
+
+        assertEquals(List.of(first.getId(), second.getId(), third.getId()), resultIds);
+    }
+
+    @Test
+    void exportEvents_shouldWriteOneJsonLinePerMatchingEvent() throws IOException {
+        userDto = createUserDto(++userId);
+        setupMockGetUserById(mockUserServer, userId, userDto);
+        EventResponse first = eventService.createEvent(validEventRequest, userId);
+        EventResponse second = eventService.createEvent(validEventRequest, userId);
+        createEventWithStatus(userId, userDto, EventRegistrationStatus.CLOSED);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        eventService.exportEvents(EventSearchParam.builder()
+                .ownerId(userId)
+                .status(EventRegistrationStatus.OPEN)
+                .summary(true)
+                .build(), outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        EventResponse firstLine = objectMapper.readValue(lines[0], EventResponse.class);
+        EventResponse secondLine = objectMapper.readValue(lines[1], EventResponse.class);
+        assertEquals(first.getId(), firstLine.getId());
+        assertEquals(second.getId(), secondLine.getId());
+        assertNull(firstLine.getDescription());
+        assertNull(firstLine.getCreatedDateTime());
+    }
+
+    @Test
+    void lookupEvents_shouldKeepRequestOrderAndReportMissingIds() throws IOException {
+        EventResponse own = eventService.createEvent(validEventRequest, userId);
+        long otherUserId = userId + 1;
+        EventResponse foreign = createEventWithStatus(otherUserId, createUserDto(otherUserId),
+                EventRegistrationStatus.OPEN);
+        long missingId = foreign.getId() + 1000;
+
+        EventLookupResponse response = eventService.lookupEvents(
+                List.of(foreign.getId(), missingId, own.getId(), foreign.getId()), userId);
+
+        assertEquals(List.of(foreign.getId(), own.getId()),
+                response.getEvents().stream().map(EventResponse::getId).toList());
+        assertNull(response.getEvents().get(0).getCreatedDateTime());
+        assertNotNull(response.getEvents().get(1).getCreatedDateTime());
+        assertEquals(List.of(missingId), response.getMissingIds());
+    }
+
     @AfterAll
     static void tearDown() {
         mockUserServer.stop();
@@ -2,6 +2,7 @@ package ru.practicum.workshop.eventservice.service;
 
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,6 +13,7 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.workshop.eventservice.StatementCounter;
 import ru.practicum.workshop.eventservice.client.dto.UserDto;
 import ru.practicum.workshop.eventservice.dto.*;
 import ru.practicum.workshop.eventservice.error.ForbiddenException;
@@ -24,7 +26,9 @@ import ru.practicum.workshop.eventservice.service.impl.OrgTeamMemberServiceImpl;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.configureFor;
@@ -32,6 +36,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.*;
 import static ru.practicum.workshop.eventservice.UserMock.setupMockGetUserById;
+import static ru.practicum.workshop.eventservice.UserMock.setupMockGetUsersByIds;
 
 @ActiveProfiles("test")
 @SpringBootTest
@@ -44,6 +49,7 @@ public class OrgTeamMemberServiceIntegrationTest {
 
     private final OrgTeamMemberRepository orgTeamMemberRepository;
     private final EventRepository eventRepository;
+    private final EntityManagerFactory entityManagerFactory;
     private static WireMockServer mockUserServer;
 
     private UserDto userDto;
@@ -450,6 +456,122 @@ public class OrgTeamMemberServiceIntegrationTest {
         assertThrows(EntityNotFoundException.class, () -> orgTeamMemberService.getTeamMembers(eventId + 1));
     }
 
+    @Test
+    public void getTeamMembers_thenReadsEventAndTeamInOneStatement() throws Throwable {
+        var ownerId = userId;
+        var eventId = eventService.createEvent(getNextEventRequest(), ownerId).getId();
+        List<Long> memberIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            var memberId = getUserId();
+            setupMockGetUserById(mockUserServer, memberId, createUserDto(memberId));
+            orgTeamMemberService.addTeamMember(ownerId, NewOrgTeamMemberDto.builder()
+                    .eventId(eventId)
+                    .userId(memberId)
+                    .role(OrgTeamMember.Role.EXECUTOR).build());
+            memberIds.add(memberId);
+        }
+        entityManagerFactory.getCache().evictAll();
+
+        var members = new StatementCounter(entityManagerFactory)
+                .assertStatements(1, () -> orgTeamMemberService.getTeamMembers(eventId));
+
+        assertEquals(memberIds, members.stream().map(PublicOrgTeamMemberDto::getUserId).toList());
+    }
+
+    @Test
+    public void getTeamMembers_whenNoTeam_thenReturnEmpty() {
+        var eventId = eventService.createEvent(getNextEventRequest(), userId).getId();
+
+        assertTrue(orgTeamMemberService.getTeamMembers(eventId).isEmpty());
+    }
+
+    @Test
+    public void teamChanges_thenIncrementTeamVersion() throws IOException {
+        var ownerId = userId;
+        var eventId = eventService.createEvent(getNextEventRequest(), ownerId).getId();
+        assertEquals(0L, orgTeamMemberService.getTeamVersion(eventId));
+
+        var memberId = getUserId();
+        setupMockGetUserById(mockUserServer, memberId, createUserDto(memberId));
+        orgTeamMemberService.addTeamMember(ownerId, NewOrgTeamMemberDto.builder()
+                .eventId(eventId)
+                .userId(memberId)
+                .role(OrgTeamMember.Role.EXECUTOR).build());
+        assertEquals(1L, orgTeamMemberService.getTeamVersion(eventId));
+
+        orgTeamMemberService.updateTeamMemberData(ownerId, UpdateOrgTeamMemberDto.builder()
+                .eventId(eventId).userId(memberId).role(OrgTeamMember.Role.MANAGER).build());
+        assertEquals(2L, orgTeamMemberService.getTeamVersion(eventId));
+
+        orgTeamMemberService.deleteTeamMember(ownerId, eventId, memberId);
+        assertEquals(3L, orgTeamMemberService.getTeamVersion(eventId));
+    }
+
+    @Test
+    public void getTeamVersion_whenEventNotExists_thenThrowException() {
+        assertThrows(EntityNotFoundException.class, () -> orgTeamMemberService.getTeamVersion(Long.MAX_VALUE));
+    }
+
+    // Method "addTeamMembers" tests.
+    @Test
+    public void addTeamMembers_thenReturnResultPerMember() throws IOException {
+        var ownerId = userId;
+        var eventId = eventService.createEvent(getNextEventRequest(), ownerId).getId();
+
+        var executorId = getUserId();
+        setupMockGetUserById(mockUserServer, executorId, createUserDto(executorId));
+        orgTeamMemberService.addTeamMember(ownerId, NewOrgTeamMemberDto.builder()
+                .eventId(eventId)
+                .userId(executorId)
+                .role(OrgTeamMember.Role.EXECUTOR).build());
+
+        var managerId = getUserId();
+        var unknownUserId = 999_999L;
+        setupMockGetUsersByIds(mockUserServer, List.of(createUserDto(managerId), createUserDto(executorId)));
+
+        var results = orgTeamMemberService.addTeamMembers(ownerId, eventId, List.of(
+                new NewOrgTeamMemberDto(eventId, managerId, OrgTeamMember.Role.MANAGER),
+                new NewOrgTeamMemberDto(eventId, executorId, OrgTeamMember.Role.MANAGER),
+                new NewOrgTeamMemberDto(eventId, managerId, OrgTeamMember.Role.EXECUTOR),
+                new NewOrgTeamMemberDto(eventId, ownerId, OrgTeamMember.Role.MANAGER),
+                new NewOrgTeamMemberDto(eventId, unknownUserId, OrgTeamMember.Role.EXECUTOR),
+                new NewOrgTeamMemberDto(eventId + 1, getUserId(), OrgTeamMember.Role.EXECUTOR)));
+
+        assertEquals(List.of(
+                        OrgTeamMemberImportResultDto.Status.ADDED,
+                        OrgTeamMemberImportResultDto.Status.DUPLICATE,
+                        OrgTeamMemberImportResultDto.Status.DUPLICATE,
+                        OrgTeamMemberImportResultDto.Status.EVENT_OWNER,
+                        OrgTeamMemberImportResultDto.Status.USER_NOT_FOUND,
+                        OrgTeamMemberImportResultDto.Status.EVENT_MISMATCH),
+                results.stream().map(OrgTeamMemberImportResultDto::getStatus).toList());
+
+        var expectedMemberDtos = Set.of(
+                new PublicOrgTeamMemberDto(managerId, OrgTeamMember.Role.MANAGER),
+                new PublicOrgTeamMemberDto(executorId, OrgTeamMember.Role.EXECUTOR));
+
+        assertThat(new HashSet<>(orgTeamMemberService.getTeamMembers(eventId)), equalTo(expectedMemberDtos));
+    }
+
+    @Test
+    public void addTeamMembers_byExecutor_thenThrowException() throws IOException {
+        var ownerId = userId;
+        var eventId = eventService.createEvent(getNextEventRequest(), ownerId).getId();
+
+        var executorId = getUserId();
+        setupMockGetUserById(mockUserServer, executorId, createUserDto(executorId));
+        orgTeamMemberService.addTeamMember(ownerId, NewOrgTeamMemberDto.builder()
+                .eventId(eventId)
+                .userId(executorId)
+                .role(OrgTeamMember.Role.EXECUTOR).build());
+
+        var newMemberId = getUserId();
+        var newMembers = List.of(new NewOrgTeamMemberDto(eventId, newMemberId, OrgTeamMember.Role.EXECUTOR));
+
+        assertThrows(ForbiddenException.class,
+                () -> orgTeamMemberService.addTeamMembers(executorId, eventId, newMembers));
+    }
+
     // Utilities methods.
     private long getUserId() {
         return ++userId;
@@ -0,0 +1,221 @@
+package ru.practicum.workshop.eventservice.service.impl;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.workshop.eventservice.client.dto.UserDto;
+import ru.practicum.workshop.eventservice.dto.EventChangeNotification;
+import ru.practicum.workshop.eventservice.error.ForbiddenException;
+import ru.practicum.workshop.eventservice.error.ServiceUnavailableException;
+import ru.practicum.workshop.eventservice.model.EventChangeType;
+import ru.practicum.workshop.eventservice.repository.EventRepository;
+import ru.practicum.workshop.eventservice.repository.OutboxRecordRepository;
+import ru.practicum.workshop.eventservice.service.EventService;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.workshop.eventservice.TestEvents.eventRequest;
+import static ru.practicum.workshop.eventservice.UserMock.setupMockGetUserById;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@TestPropertySource(properties = {
+        "event.stream.buffer-size=2",
+        "event.stream.max-subscribers=3",
+        "event.stream.heartbeat-interval=1h"
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class EventStreamServiceImplTest {
+    private static final long OWNER_ID = 1L;
+    private static final long OTHER_USER_ID = 2L;
+
+    private static WireMockServer mockUserServer;
+
+    private final EventStreamServiceImpl streamService;
+    private final EventService eventService;
+    private final EventRepository eventRepository;
+    private final OutboxRecordRepository outboxRecordRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+
+    /**
+     * Records what is sent instead of writing it to a response, and runs the completion callback on
+     * {@link #complete()} the way the servlet container would.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch proceed;
+        private Runnable completionCallback;
+
+        RecordingEmitter(CountDownLatch proceed) {
+            this.proceed = proceed;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            sending.countDown();
+            try {
+                proceed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            sent.add(items.stream()
+                    .map(item -> item.getData().toString())
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void onCompletion(Runnable callback) {
+            completionCallback = callback;
+            super.onCompletion(callback);
+        }
+
+        @Override
+        public void complete() {
+            super.complete();
+            completionCallback.run();
+        }
+
+        String next() throws InterruptedException {
+            return sent.poll(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @BeforeAll
+    static void beforeAll() throws IOException {
+        mockUserServer = new WireMockServer(WireMockConfiguration.wireMockConfig().dynamicPort());
+        mockUserServer.start();
+        setupMockGetUserById(mockUserServer, OWNER_ID, UserDto.builder().id(OWNER_ID).name("owner").build());
+        setupMockGetUserById(mockUserServer, OTHER_USER_ID, UserDto.builder().id(OTHER_USER_ID).name("other").build());
+    }
+
+    @DynamicPropertySource
+    static void setUserServiceUrl(DynamicPropertyRegistry registry) {
+        registry.add("userservice.url", () -> "localhost:" + mockUserServer.port());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        emitters.forEach(SseEmitter::complete);
+        outboxRecordRepository.deleteAll();
+        eventRepository.deleteAll();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        mockUserServer.stop();
+    }
+
+    private RecordingEmitter subscribe(Long eventId, Long ownerId) {
+        return subscribe(eventId, ownerId, new CountDownLatch(0));
+    }
+
+    private RecordingEmitter subscribe(Long eventId, Long ownerId, CountDownLatch proceed) {
+        RecordingEmitter emitter = new RecordingEmitter(proceed);
+        streamService.subscribe(emitter, eventId, ownerId);
+        emitters.add(emitter);
+        return emitter;
+    }
+
+    private static EventChangeNotification notification(long id) {
+        return EventChangeNotification.builder()
+                .id(id)
+                .eventId(1L)
+                .ownerId(OWNER_ID)
+                .changeType(EventChangeType.EVENT_UPDATED)
+                .version(id)
+                .build();
+    }
+
+    @Test
+    void committedChange_thenPushedToMatchingSubscribers() throws InterruptedException {
+        Long eventId = eventService.createEvent(eventRequest("Created"), OWNER_ID).getId();
+        RecordingEmitter ofEvent = subscribe(eventId, null);
+        RecordingEmitter ofOwner = subscribe(null, OWNER_ID);
+        RecordingEmitter ofOtherOwner = subscribe(null, OTHER_USER_ID);
+
+        eventService.updateEvent(eventId, eventRequest("Updated"), OWNER_ID);
+
+        String sent = ofEvent.next();
+        assertNotNull(sent);
+        assertTrue(sent.contains("event:EVENT_UPDATED"));
+        assertTrue(sent.contains("\"eventId\":" + eventId));
+        assertTrue(sent.contains("\"version\":1"));
+        assertTrue(ofOwner.next().contains("event:EVENT_UPDATED"));
+        assertNull(ofOtherOwner.sent.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void rolledBackChange_thenNothingPushed() throws InterruptedException {
+        Long eventId = eventService.createEvent(eventRequest("Created"), OWNER_ID).getId();
+        RecordingEmitter emitter = subscribe(eventId, null);
+
+        assertThrows(ForbiddenException.class,
+                () -> eventService.updateEvent(eventId, eventRequest("Updated"), OTHER_USER_ID));
+
+        assertNull(emitter.sent.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void slowSubscriber_thenDropsOldestChanges() throws InterruptedException {
+        CountDownLatch proceed = new CountDownLatch(1);
+        RecordingEmitter emitter = subscribe(null, null, proceed);
+        double dropped = meterRegistry.get("event.stream.dropped").counter().count();
+
+        streamService.onEventChange(notification(1));
+        assertTrue(emitter.sending.await(5, TimeUnit.SECONDS));
+        for (long id = 2; id <= 5; id++) {
+            streamService.onEventChange(notification(id));
+        }
+        proceed.countDown();
+
+        assertTrue(emitter.next().startsWith("id:1\n"));
+        assertTrue(emitter.next().startsWith("id:4\n"));
+        assertTrue(emitter.next().startsWith("id:5\n"));
+        assertNull(emitter.sent.poll(200, TimeUnit.MILLISECONDS));
+        assertEquals(dropped + 2, meterRegistry.get("event.stream.dropped").counter().count());
+    }
+
+    @Test
+    void subscribe_whenLimitReached_thenThrowsUntilSubscriberLeaves() {
+        RecordingEmitter first = subscribe(null, null);
+        subscribe(null, 1L);
+        subscribe(1L, null);
+        assertEquals(3, streamService.getSubscriberCount());
+
+        assertThrows(ServiceUnavailableException.class, () -> subscribe(null, null));
+
+        first.complete();
+        emitters.remove(first);
+        assertEquals(2, streamService.getSubscriberCount());
+        subscribe(null, null);
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.workshop.eventservice.service.impl;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.workshop.eventservice.dto.EventRequest;
+import ru.practicum.workshop.eventservice.error.ConflictException;
+import ru.practicum.workshop.eventservice.model.EventRegistrationStatus;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventUpdateMergeTest {
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+    private static EventRequest base() {
+        return new EventRequest("name", "description", START, START.plusHours(1), "location",
+                EventRegistrationStatus.OPEN, true, 10);
+    }
+
+    @Test
+    void merge_whenDifferentFieldsChanged_thenKeepsBoth() {
+        EventRequest request = base();
+        request.setName("new name");
+        request.setParticipantLimit(20);
+        EventRequest current = base();
+        current.setLocation("new location");
+        current.setEndDateTime(START.plusHours(2));
+
+        EventRequest merged = EventUpdateMerge.merge(base(), request, current);
+
+        assertEquals("new name", merged.getName());
+        assertEquals(20, merged.getParticipantLimit());
+        assertEquals("new location", merged.getLocation());
+        assertEquals(START.plusHours(2), merged.getEndDateTime());
+        assertEquals("description", merged.getDescription());
+    }
+
+    @Test
+    void merge_whenSameChangeMadeConcurrently_thenNoConflict() {
+        EventRequest request = base();
+        request.setRegistrationStatus(EventRegistrationStatus.CLOSED);
+        EventRequest current = base();
+        current.setRegistrationStatus(EventRegistrationStatus.CLOSED);
+
+        EventRequest merged = EventUpdateMerge.merge(base(), request, current);
+
+        assertEquals(EventRegistrationStatus.CLOSED, merged.getRegistrationStatus());
+    }
+
+    @Test
+    void merge_whenSameFieldChangedDifferently_thenThrowsConflict() {
+        EventRequest request = base();
+        request.setName("mine");
+        EventRequest current = base();
+        current.setName("theirs");
+
+        ConflictException e = assertThrows(ConflictException.class,
+                () -> EventUpdateMerge.merge(base(), request, current));
+        assertTrue(e.getMessage().contains("NAME"));
+    }
+
+    @Test
+    void merge_whenStartAndEndChangedByDifferentUpdates_thenThrowsConflict() {
+        EventRequest request = base();
+        request.setStartDateTime(START.plusMinutes(30));
+        EventRequest current = base();
+        current.setEndDateTime(START.plusHours(3));
+
+        assertThrows(ConflictException.class, () -> EventUpdateMerge.merge(base(), request, current));
+    }
+}